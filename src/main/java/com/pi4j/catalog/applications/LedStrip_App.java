@@ -5,6 +5,8 @@ import java.time.Duration;
 import com.pi4j.context.Context;
 
 import com.pi4j.catalog.Application;
+import com.pi4j.catalog.components.LedAnimator;
+import com.pi4j.catalog.components.LedEffect;
 import com.pi4j.catalog.components.LedStrip;
 
 /**
@@ -57,6 +59,25 @@ public class LedStrip_App implements Application {
         }
         delay(ms500);
 
+        System.out.println("fading out and in again, the LEDs keep their colors");
+        double brightness = ledStrip.getMaxBrightness();
+        for(int i = 20; i >= 0; i--){
+            ledStrip.setMaxBrightness(brightness * i / 20);
+            ledStrip.render(ms50);
+        }
+        for(int i = 0; i <= 20; i++){
+            ledStrip.setMaxBrightness(brightness * i / 20);
+            ledStrip.render(ms50);
+        }
+
+        System.out.println("animating a rainbow with sparkles on top, the app isn't blocked meanwhile");
+        LedAnimator animator = new LedAnimator(30);
+        animator.addLayer(ledStrip, LedEffect.rainbow(Duration.ofSeconds(2)), LedAnimator.BlendMode.REPLACE);
+        animator.addLayer(ledStrip, LedEffect.sparkle(LedStrip.LedColor.WHITE, 0.05, 0.7), LedAnimator.BlendMode.ADD);
+        animator.start();
+        delay(Duration.ofSeconds(5));
+        animator.stop();
+
         System.out.println("setting the brightness to full and show the first LED as white");
         ledStrip.allOff();
         ledStrip.setMaxBrightness(1);
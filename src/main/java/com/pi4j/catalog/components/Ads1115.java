@@ -1,14 +1,27 @@
 package com.pi4j.catalog.components;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import com.pi4j.context.Context;
+import com.pi4j.io.gpio.digital.DigitalInput;
+import com.pi4j.io.gpio.digital.DigitalState;
+import com.pi4j.io.gpio.digital.PullResistance;
 import com.pi4j.io.i2c.I2C;
+import com.pi4j.plugin.mock.provider.gpio.digital.MockDigitalInput;
 
+import com.pi4j.catalog.components.base.I2CBus;
 import com.pi4j.catalog.components.base.I2CDevice;
+import com.pi4j.catalog.components.base.PIN;
+import com.pi4j.catalog.components.helpers.SampleHistory;
+import com.pi4j.catalog.components.helpers.SignalFilter;
 
 public class Ads1115 extends I2CDevice {
     /**
@@ -28,11 +41,60 @@ public class Ads1115 extends I2CDevice {
      */
     private static final int HI_THRESH_REGISTER = 0x03;
 
+    /**
+     * initial range of the measured values of each channel
+     */
+    private static final double DEFAULT_MIN_VOLTAGE = 0.1;
+    private static final double DEFAULT_MAX_VOLTAGE = 3.2;
+
+    /**
+     * marks a raw value that wasn't reported yet
+     */
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * all gains, from the largest to the smallest full-scale range
+     */
+    private static final GAIN[] GAINS = GAIN.values();
+
+    /**
+     * number of successive small values needed before auto-ranging selects a more sensitive gain
+     */
+    private static final int AUTO_RANGE_SAMPLES = 4;
+
     private final Context pi4j;
     /**
-     * programmable gain amplifier
+     * I2C address of device
+     */
+    private final ADDRESS address;
+    /**
+     * programmable gain amplifier, default for all channels
      */
     private final Ads1115.GAIN pga;
+
+    /**
+     * gain used for the next conversion of each channel and gain of the last value read from each channel,
+     * indexed by ordinal of channel
+     */
+    private final GAIN[] channelGains = new GAIN[Channel.values().length];
+    private final GAIN[] sampleGains  = new GAIN[Channel.values().length];
+
+    /**
+     * auto-ranging per channel: the limit in counts below which a value is small and the number of successive
+     * small values, indexed by ordinal of channel. A limit of 0 disables auto-ranging.
+     */
+    private final int[] autoRangeLimits = new int[Channel.values().length];
+    private final int[] smallValues     = new int[Channel.values().length];
+
+    /**
+     * the most sensitive gain auto-ranging may select, indexed by ordinal of channel
+     */
+    private final GAIN[] autoRangeMaxGains = new GAIN[Channel.values().length];
+
+    /**
+     * gain of the running conversion
+     */
+    private GAIN conversionGain;
     /**
      * sampling rate of device
      */
@@ -45,15 +107,85 @@ public class Ads1115 extends I2CDevice {
 
     private final Map<Channel, Consumer<Double>> channelsInUse = new HashMap<>();
 
-    private final Map<Channel, RawValueRange> valueRanges = new HashMap<>();
+    /**
+     * smallest and largest value measured on each channel in steps of the most sensitive gain (independent of the
+     * gain used for the measurement), indexed by ordinal of channel
+     */
+    private final int[] minSteps = new int[Channel.values().length];
+    private final int[] maxSteps = new int[Channel.values().length];
+
+    /**
+     * handlers of raw value changes, their thresholds in counts and the last reported raw values,
+     * indexed by ordinal of channel
+     */
+    private final IntConsumer[] rawHandlers = new IntConsumer[Channel.values().length];
+    private final int[] rawThresholds = new int[Channel.values().length];
+    private final int[] oldCounts = new int[Channel.values().length];
+
+    /**
+     * histories of all samples of the channels, filled by continuous reading
+     */
+    private final Map<Channel, SampleHistory> histories = new HashMap<>();
+
+    /**
+     * filters applied to the values of the channels before checking the threshold
+     */
+    private final Map<Channel, SignalFilter> filters = new HashMap<>();
+
+    /**
+     * last raw value measured on each channel by continuous reading, indexed by ordinal of channel
+     */
+    private final int[] latestCounts = new int[Channel.values().length];
+
+    /**
+     * called by continuous reading after all channels in use have been read once, replaced as a whole when a listener
+     * is added or removed
+     */
+    private volatile Runnable[] scanListeners = new Runnable[0];
 
     private boolean continuousReadingActive;
 
+    /**
+     * the scan steps of the current continuous reading on a sampler, steps of an earlier start stop on their own
+     */
+    private volatile ScanStep scanStep;
+
+    /**
+     * GPIO connected to the ALERT/RDY pin while the hardware comparator is active
+     */
+    private DigitalInput alertInput;
+
     /**
      * Config register default configuration
      */
     private final int configRegisterTemplate;
 
+    /**
+     * Config register to start a single shot conversion, indexed by ordinal of channel and gain
+     */
+    private final int[][] singleShotConfigs = new int[Channel.values().length][GAINS.length];
+
+    /**
+     * time to wait between starting a conversion and reading its result
+     */
+    private final long conversionNanos;
+
+    /**
+     * time the ADC needs at least and at most for a conversion (1/SPS with 10% tolerance of its internal oscillator)
+     */
+    private final long minConversionNanos;
+    private final long maxConversionNanos;
+
+    /**
+     * when the last conversion was started
+     */
+    private long conversionStart;
+
+    /**
+     * the conversion register is read as a block into this buffer
+     */
+    private final byte[] conversionBuffer = new byte[2];
+
 
     public Ads1115(Context pi4j){
         this(pi4j, ADDRESS.GND, GAIN.GAIN_6_144V);
@@ -66,8 +198,21 @@ public class Ads1115 extends I2CDevice {
      * @param gain    Custom gain amplifier
      */
     public Ads1115(Context pi4j, ADDRESS device, GAIN gain){
-        super(pi4j, device.address, "ADS1115");
+        this(pi4j, DEFAULT_BUS, device, gain);
+    }
+
+    /**
+     * Creates a new custom AD converter on the given I2C bus
+     *
+     * @param pi4j    Pi4J context
+     * @param bus     I2C bus number, e.g. 1 for /dev/i2c-1
+     * @param device  I2C address selected by the ADDR pin
+     * @param gain    Custom gain amplifier
+     */
+    public Ads1115(Context pi4j, int bus, ADDRESS device, GAIN gain){
+        super(pi4j, bus, device.address, "ADS1115");
         this.pi4j = pi4j;
+        this.address = device;
 
         this.pga = gain;
         this.dataRate = DataRate.SPS_128;
@@ -79,34 +224,340 @@ public class Ads1115 extends I2CDevice {
         int compQue           = COMP_QUE.DISABLE_COMP.getCompQue();
 
         this.configRegisterTemplate = operationalStatus | pga.gain | dataRate.getConf() | compMode | compPol | latching | compQue;
+        this.conversionNanos        = conversionTime().toNanos();
+        this.minConversionNanos     = (long) (0.9 * 1_000_000_000L / dataRate.getSpS());
+        this.maxConversionNanos     = (long) (1.1 * 1_000_000_000L / dataRate.getSpS());
+
+        for (Channel channel : Channel.values()) {
+            for (GAIN g : GAINS) {
+                singleShotConfigs[channel.ordinal()][g.ordinal()] = configRegisterTemplate
+                        & PGA.CLR_CURRENT_CONF_PARAM.getPga()
+                        | g.gain
+                        | channel.mux.getMux()
+                        | OperationMode.SINGLE.getMode();
+            }
+        }
+        Arrays.fill(channelGains, pga);
+        Arrays.fill(sampleGains, pga);
+        this.conversionGain = pga;
+
+        int finest = GAINS.length - 1;
+        Arrays.fill(minSteps, (int) Math.round(DEFAULT_MIN_VOLTAGE / GAINS[finest].gainPerBit));
+        Arrays.fill(maxSteps, (int) Math.round(DEFAULT_MAX_VOLTAGE / GAINS[finest].gainPerBit));
+        Arrays.fill(oldCounts, NO_VALUE);
+
+        //sampling is time-critical
+        setBusPriority(I2CBus.Priority.HIGH);
     }
 
     Context getPi4j() {
         return pi4j;
     }
 
+    public ADDRESS getAddress() {
+        return address;
+    }
+
     @Override
     protected void init(I2C i2c) {
         //nothing to init
     }
 
     public void onValueChange(Channel channel, Consumer<Double> onChange) {
+        onValueChange(channel, onChange, new SignalFilter[0]);
+    }
+
+    /**
+     * Registers a handler for value changes of the channel, the measured values pass the given filters first.
+     * <p>
+     * Filters run in the continuous reading thread. Use e.g. {@link SignalFilter#exponentialMovingAverage(double)},
+     * {@link SignalFilter#median(int)}, {@link SignalFilter#decimate(int)} or {@link SignalFilter#hysteresis(double)}
+     * to reduce the number of value change events of a noisy signal.
+     *
+     * @param channel  ADC channel
+     * @param onChange Event handler to call or null to disable
+     * @param filters  filters applied in the given order, filter instances must not be shared between channels
+     */
+    public void onValueChange(Channel channel, Consumer<Double> onChange, SignalFilter... filters) {
         if (onChange != null) {
             if (continuousReadingActive) {
                 throw new IllegalStateException("Can't add a new onValueChange while continuous reading is active");
             }
             channelsInUse.put(channel, onChange);
+            if (filters.length > 0) {
+                this.filters.put(channel, SignalFilter.chain(filters));
+            } else {
+                this.filters.remove(channel);
+            }
         } else {
             channelsInUse.remove(channel);
+            this.filters.remove(channel);
+        }
+    }
+
+    /**
+     * Registers a handler for changes of the raw value of the channel, measured in counts of the ADC (16-bit two's
+     * complement, see {@link GAIN#gainPerBit()} for the resolution).
+     * <p>
+     * The raw values are compared as integers in the continuous reading thread, they are never converted to a
+     * voltage. Use it if the consumer only compares values, e.g. with a threshold, and convert just the values of
+     * interest with {@link #toVoltage(Channel, int)}. The threshold given to {@link #startContinuousReading(double)}
+     * doesn't apply to raw handlers. Not possible for channels with auto-ranging, their raw values depend on the
+     * gain selected.
+     *
+     * @param channel         ADC channel
+     * @param thresholdCounts minimal change of the raw value triggering the handler, 0 to report each value
+     * @param onChange        Event handler to call with the new raw value or null to disable
+     */
+    public void onRawValueChange(Channel channel, int thresholdCounts, IntConsumer onChange) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't change onRawValueChange while continuous reading is active");
+        }
+        if (thresholdCounts < 0) {
+            throw new IllegalArgumentException("thresholdCounts must not be negative");
         }
+        int index = channel.ordinal();
+        if (onChange != null && autoRangeLimits[index] > 0) {
+            throw new IllegalStateException("Raw values of channel " + channel + " aren't comparable, auto-ranging is enabled");
+        }
+        rawHandlers[index]   = onChange;
+        rawThresholds[index] = thresholdCounts;
+        oldCounts[index]     = NO_VALUE;
+    }
+
+    /**
+     * Keeps the last values of the given channel measured by continuous reading, independent of any threshold.
+     * The channel is read by continuous reading even if no onValueChange handler is registered.
+     * <p>
+     * Use the history to get moving averages, min/max or RMS of the signal. It can be queried from any thread
+     * without disturbing the continuous reading.
+     *
+     * @param channel    ADC channel
+     * @param windowSize number of values to keep
+     * @return the history of the channel
+     */
+    public SampleHistory enableHistory(Channel channel, int windowSize) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't enable history while continuous reading is active");
+        }
+        SampleHistory history = new SampleHistory(windowSize);
+        histories.put(channel, history);
+        //channel needs to be read, even if nobody is interested in value changes
+        addChannel(channel);
+
+        return history;
+    }
+
+    /**
+     * Reads the channel during continuous reading, even if no onValueChange handler is registered. Use it together
+     * with {@link #addScanListener(Runnable)} and {@link #getLatestVoltage(Channel)}.
+     *
+     * @param channel ADC channel
+     */
+    public void addChannel(Channel channel) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't add a channel while continuous reading is active");
+        }
+        channelsInUse.putIfAbsent(channel, (voltage) -> {});
+    }
+
+    /**
+     * Adds a handler that is called by continuous reading each time all channels in use have been read once.
+     * In the handler, {@link #getLatestVoltage(Channel)} returns a consistent set of values of the same scan.
+     * <p>
+     * Use it to combine several channels, e.g. both axes of a joystick, instead of reacting to each channel on its own.
+     * Several listeners can be added, e.g. by two joysticks sharing the ADC, they are called in the order they were
+     * added. Listeners can be added and removed at any time.
+     *
+     * @param listener Event handler to call
+     */
+    public synchronized void addScanListener(Runnable listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        Runnable[] listeners = Arrays.copyOf(scanListeners, scanListeners.length + 1);
+        listeners[scanListeners.length] = listener;
+        scanListeners = listeners;
+    }
+
+    /**
+     * Removes a handler added with {@link #addScanListener(Runnable)}, other listeners are kept.
+     *
+     * @param listener the handler to remove, nothing happens if it wasn't added
+     */
+    public synchronized void removeScanListener(Runnable listener) {
+        Runnable[] listeners = scanListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                Runnable[] remaining = new Runnable[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                scanListeners = remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Last voltage measured by continuous reading, before any filter.
+     * <p>
+     * Intended to be called by a listener added with {@link #addScanListener(Runnable)}, which runs on the thread of
+     * continuous reading. Other threads may see outdated values.
+     *
+     * @param channel ADC channel
+     * @return the last measured voltage, 0 if the channel wasn't read yet
+     */
+    public double getLatestVoltage(Channel channel) {
+        int index = channel.ordinal();
+        return sampleGains[index].gainPerBit * latestCounts[index];
+    }
+
+    /**
+     * Last raw value measured by continuous reading, see {@link #getLatestVoltage(Channel)}. Convert it with
+     * {@link #toVoltage(Channel, int)}, with auto-ranging the gain of the next conversion may already differ.
+     *
+     * @param channel ADC channel
+     * @return the last measured raw value, 0 if the channel wasn't read yet
+     */
+    public int getLatestRawValue(Channel channel) {
+        return latestCounts[channel.ordinal()];
+    }
+
+    /**
+     * @param channel ADC channel
+     * @return the history of the channel or 'null' if history is not enabled for this channel
+     */
+    public SampleHistory getHistory(Channel channel) {
+        return histories.get(channel);
     }
 
     public double maxRawValue(Channel channel){
-        return getRange(channel).maxRawValue;
+        return GAINS[GAINS.length - 1].gainPerBit * maxSteps[channel.ordinal()];
     }
 
     public double minRawValue(Channel channel){
-        return getRange(channel).minRawValue;
+        return GAINS[GAINS.length - 1].gainPerBit * minSteps[channel.ordinal()];
+    }
+
+    /**
+     * Sets the gain of a single channel, e.g. a more sensitive one for a channel measuring small signals. Disables
+     * auto-ranging of the channel.
+     *
+     * @param channel ADC channel
+     * @param gain    gain used for all further conversions of the channel
+     */
+    public void setGain(Channel channel, GAIN gain) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't change the gain while continuous reading is active");
+        }
+        int index = channel.ordinal();
+        channelGains[index]    = gain;
+        sampleGains[index]     = gain;
+        autoRangeLimits[index] = 0;
+    }
+
+    /**
+     * @param channel ADC channel
+     * @return the gain used for the next conversion of the channel
+     */
+    public GAIN getGain(Channel channel) {
+        return channelGains[channel.ordinal()];
+    }
+
+    /**
+     * Lets the ADC select the gain of the channel according to the signal. Small signals are measured with a more
+     * sensitive gain, using the full 16-bit resolution instead of oversampling.
+     * <p>
+     * If the magnitude of {@value #AUTO_RANGE_SAMPLES} successive values stays below 'fraction' of the full-scale
+     * range, the next more sensitive gain is selected. As soon as a value is clipped, the next less sensitive gain
+     * is selected. A single read of a clipped value is repeated with the new gain. The gain stays between
+     * {@link GAIN#GAIN_6_144V} and 'maxGain'.
+     * <p>
+     * Voltages are always scaled with the gain of the conversion. Raw values depend on the gain selected,
+     * {@link #onRawValueChange(Channel, int, IntConsumer)} is therefore not possible for this channel.
+     *
+     * @param channel  ADC channel
+     * @param fraction fraction of full scale below which a more sensitive gain is selected, range 0 - 0.5 (exclusive),
+     *                 typically 0.4
+     * @param maxGain  the most sensitive gain to use
+     */
+    public void enableAutoRange(Channel channel, double fraction, GAIN maxGain) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't enable auto-ranging while continuous reading is active");
+        }
+        //the value must still fit when the full-scale range is halved
+        if (fraction <= 0 || fraction >= 0.5) {
+            throw new IllegalArgumentException("fraction must be in range 0 - 0.5 (exclusive)");
+        }
+        int index = channel.ordinal();
+        if (rawHandlers[index] != null) {
+            throw new IllegalStateException("Raw handler registered for channel " + channel + ", can't enable auto-ranging");
+        }
+        autoRangeLimits[index] = (int) (fraction * Short.MAX_VALUE);
+        autoRangeMaxGains[index] = maxGain;
+        smallValues[index] = 0;
+    }
+
+    /**
+     * Stops auto-ranging, the channel keeps the gain selected last.
+     *
+     * @param channel ADC channel
+     */
+    public void disableAutoRange(Channel channel) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Can't disable auto-ranging while continuous reading is active");
+        }
+        autoRangeLimits[channel.ordinal()] = 0;
+    }
+
+    /**
+     * Converts a raw value of the ADC to a voltage, according to the gain the last value of the channel was measured
+     * with. With auto-ranging this may differ from {@link #getGain(Channel)}, the gain of the next conversion.
+     *
+     * @param channel ADC channel the value was read from
+     * @param counts  the last raw value of the channel, e.g. returned by {@link #readRawValue(Channel)}
+     * @return voltage
+     */
+    public double toVoltage(Channel channel, int counts) {
+        return sampleGains[channel.ordinal()].gainPerBit * counts;
+    }
+
+    /**
+     * Converts a voltage to a raw value of the ADC, according to the gain the last value of the channel was measured
+     * with, see {@link #toVoltage(Channel, int)}. Voltages outside the full-scale range are clamped.
+     *
+     * @param channel ADC channel
+     * @param voltage voltage
+     * @return raw value, range -32768 - 32767
+     */
+    public int toCounts(Channel channel, double voltage) {
+        return toCounts(sampleGains[channel.ordinal()], voltage);
+    }
+
+    /**
+     * Converts a raw value of the ADC to a voltage, according to the default gain of this ADC.
+     *
+     * @param counts raw value, e.g. returned by {@link #readRawValue(Channel)}
+     * @return voltage
+     */
+    public double toVoltage(int counts) {
+        return pga.gainPerBit * counts;
+    }
+
+    /**
+     * Converts a voltage to a raw value of the ADC, according to the default gain of this ADC. Voltages outside the
+     * range of the gain are clamped.
+     *
+     * @param voltage voltage
+     * @return raw value, range -32768 - 32767
+     */
+    public int toCounts(double voltage) {
+        return toCounts(pga, voltage);
+    }
+
+    private static int toCounts(GAIN gain, double voltage) {
+        long counts = Math.round(voltage / gain.gainPerBit);
+        return (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, counts));
     }
 
     /**
@@ -119,13 +570,92 @@ public class Ads1115 extends I2CDevice {
             throw new IllegalStateException("Continuous measuring active, can't read a single value");
         }
 
-        double voltage = readSingleValue(channel);
+        short counts = readSingleValue(channel);
+        double voltage = sampleGains[channel.ordinal()].gainPerBit * counts;
 
         logDebug("current value of channel %s: %.2f", channel, voltage);
 
         return voltage;
     }
 
+    /**
+     * Returns the raw value of the specified channel, without converting it to a voltage.
+     *
+     * @return raw value, 16-bit two's complement
+     */
+    public short readRawValue(Channel channel) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Continuous measuring active, can't read a single value");
+        }
+        return readSingleValue(channel);
+    }
+
+    /**
+     * Returns voltage values from the specified channels.
+     * <p>
+     * The channels are read in a pipeline: the conversion of the next channel is started before the result of the
+     * current one is read, so the ADC never waits for the I2C bus. Each channel takes just the conversion time of
+     * the ADC (instead of twice the conversion time used by {@link #readValue(Channel)}).
+     *
+     * @param channels the channels to read
+     * @return voltages, in the order of the channels
+     */
+    public double[] readValues(Channel... channels) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Continuous measuring active, can't read a single value");
+        }
+        double[] voltages = new double[channels.length];
+        readPipelined(channels, new short[channels.length], voltages);
+
+        return voltages;
+    }
+
+    /**
+     * Returns the raw values of the specified channels, read in a pipeline like {@link #readValues(Channel...)}.
+     *
+     * @param channels the channels to read
+     * @return raw values, in the order of the channels
+     */
+    public short[] readRawValues(Channel... channels) {
+        short[] counts = new short[channels.length];
+        readRawValues(counts, channels);
+        return counts;
+    }
+
+    /**
+     * Reads the raw values of the specified channels into the given array, read in a pipeline like
+     * {@link #readValues(Channel...)}. Doesn't allocate, the array can be reused for each batch.
+     *
+     * @param counts   receives the raw values, in the order of the channels, at least as long as 'channels'
+     * @param channels the channels to read
+     */
+    public void readRawValues(short[] counts, Channel... channels) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Continuous measuring active, can't read a single value");
+        }
+        if (counts.length < channels.length) {
+            throw new IllegalArgumentException("counts must hold at least " + channels.length + " values");
+        }
+        readPipelined(channels, counts, null);
+    }
+
+    /**
+     * Reads the channels in a pipeline, optionally converting each value with the gain of its conversion.
+     */
+    private void readPipelined(Channel[] channels, short[] counts, double[] voltages) {
+        if (channels.length == 0) {
+            return;
+        }
+
+        startConversion(channels[0]);
+        for (int i = 0; i < channels.length; i++) {
+            counts[i] = readAndStartNext(channels[i], i + 1 < channels.length ? channels[i + 1] : null);
+            if (voltages != null) {
+                voltages[i] = sampleGains[channels[i].ordinal()].gainPerBit * counts[i];
+            }
+        }
+    }
+
 
     /**
      * Start continuous reading. In this mode, up to 4 devices can be connected to the analog to digital
@@ -141,27 +671,249 @@ public class Ads1115 extends I2CDevice {
      * 2 channels in use -> readFrequency max 32Hz (min. response time = 32ms)
      * 3 channels in use -> readFrequency max 21Hz (min. response time = 48ms)
      * 4 channels in use -> readFrequency max 16Hz (min. response time = 63ms)
+     * <p>
+     * This table holds for {@link ScanMode#SEQUENTIAL}. The default {@link ScanMode#PIPELINED} waits just the
+     * conversion time (1/sps) per channel and overlaps the I2C traffic with the conversion, resulting in almost
+     * twice the readFrequency.
      *
      * @param threshold  threshold for triggering value change event (+- voltage)
      */
     public void startContinuousReading(double threshold) {
+        startContinuousReading(threshold, ScanMode.PIPELINED);
+    }
+
+    /**
+     * Start continuous reading with the given scan mode.
+     *
+     * @param threshold threshold for triggering value change event (+- voltage)
+     * @param scanMode  how the channels are scanned
+     * @see #startContinuousReading(double)
+     */
+    public void startContinuousReading(double threshold, ScanMode scanMode) {
         if (continuousReadingActive) {
             throw new IllegalStateException("continuous reading already active");
         } else {
             //set fast continuous reading active to lock slow continuous reading
             continuousReadingActive = true;
 
-            readAllChannels(threshold);
+            if (scanMode == ScanMode.PIPELINED) {
+                readAllChannelsPipelined(threshold);
+            } else {
+                readAllChannels(threshold);
+            }
 
             logDebug("Start continuous reading");
         }
     }
 
     /**
-     * stops continuous reading
+     * Start continuous reading on the threads of a sampler, instead of a thread of its own. The channels are
+     * scanned like {@link ScanMode#PIPELINED}.
+     * <p>
+     * The waiting for each conversion doesn't block a thread, the next scan step is scheduled for the time the
+     * conversion is finished. Use {@link Ads1115Sampler#shared()} to read all ADCs of an application with a single
+     * thread.
+     *
+     * @param threshold threshold for triggering value change event (+- voltage)
+     * @param sampler   the sampler running the scan steps
+     * @see #startContinuousReading(double)
+     */
+    public void startContinuousReading(double threshold, Ads1115Sampler sampler) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("continuous reading already active");
+        }
+        Channel[] channels = channelsInUse().toArray(new Channel[0]);
+        if (channels.length == 0) {
+            return;
+        }
+        continuousReadingActive = true;
+
+        ScanStep step = new ScanStep(channels, threshold, sampler);
+        scanStep = step;
+        startConversion(channels[0]);
+        sampler.schedule(step, maxConversionNanos);
+
+        logDebug("Start continuous reading on sampler");
+    }
+
+    /**
+     * Programs the window comparator of the ADC. The channel is converted continuously by the ADC itself and the
+     * ALERT/RDY pin is asserted (pulled low) as soon as a conversion result is outside the window between
+     * 'lowVoltage' and 'highVoltage'. The pin stays latched until the result is read.
+     * <p>
+     * There's no polling: the handler is called from the GPIO event of the alert pin, with the voltage that caused
+     * the alert. Reading this voltage releases the latch. If the signal stays outside the window, the next alert
+     * follows with the next conversion.
+     * <p>
+     * The ALERT/RDY pin is open drain, the GPIO is configured with a pull-up. Single reads and continuous reading
+     * are not possible while the comparator is active.
+     *
+     * @param channel     ADC channel to watch
+     * @param lowVoltage  lower limit of the window
+     * @param highVoltage upper limit of the window
+     * @param alertPin    GPIO the ALERT/RDY pin of the ADC is connected to
+     * @param onAlert     Event handler to call with the voltage outside the window
+     */
+    public void startThresholdAlert(Channel channel, double lowVoltage, double highVoltage, PIN alertPin, Consumer<Double> onAlert) {
+        startThresholdAlert(channel, lowVoltage, highVoltage, COMP_QUE.ASSERT_ONE, alertPin, onAlert);
+    }
+
+    /**
+     * Programs the window comparator of the ADC, see {@link #startThresholdAlert(Channel, double, double, PIN, Consumer)}.
+     *
+     * @param channel     ADC channel to watch
+     * @param lowVoltage  lower limit of the window
+     * @param highVoltage upper limit of the window
+     * @param queue       number of successive conversions outside the window needed to assert the alert
+     * @param alertPin    GPIO the ALERT/RDY pin of the ADC is connected to
+     * @param onAlert     Event handler to call with the voltage outside the window
+     */
+    public void startThresholdAlert(Channel channel, double lowVoltage, double highVoltage, COMP_QUE queue, PIN alertPin, Consumer<Double> onAlert) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Continuous measuring active, can't start threshold alert");
+        }
+        if (lowVoltage >= highVoltage) {
+            throw new IllegalArgumentException("lowVoltage must be less than highVoltage");
+        }
+        if (queue != COMP_QUE.ASSERT_ONE && queue != COMP_QUE.ASSERT_TWO && queue != COMP_QUE.ASSERT_FOUR) {
+            throw new IllegalArgumentException("queue must be one of ASSERT_ONE, ASSERT_TWO, ASSERT_FOUR");
+        }
+        try {
+            alertInput = pi4j.create(DigitalInput.newConfigBuilder(pi4j)
+                                             .id("BCM" + alertPin)
+                                             .name("ADS1115 ALERT #" + alertPin)
+                                             .address(alertPin.getPin())
+                                             .pull(PullResistance.PULL_UP)
+                                             .build());
+            alertInput.addListener(event -> {
+                if (event.state() == DigitalState.LOW) {
+                    double voltage = readConversion(channel);
+                    logDebug("Threshold alert on channel %s: %f", channel, voltage);
+                    onAlert.accept(voltage);
+                }
+            });
+
+            //high threshold must be written first, the ADC requires it to be greater than the low threshold at any time
+            GAIN gain = channelGains[channel.ordinal()];
+            conversionGain = gain;
+            writeRegister(HI_THRESH_REGISTER, toCounts(gain, highVoltage) & 0xFFFF);
+            writeRegister(LO_THRESH_REGISTER, toCounts(gain, lowVoltage) & 0xFFFF);
+
+            int config = configRegisterTemplate
+                    & PGA.CLR_CURRENT_CONF_PARAM.getPga()
+                    & COMP_MODE.CLR_CURRENT_CONF_PARAM.getCompMode()
+                    & COMP_POL.CLR_CURRENT_CONF_PARAM.getCompPol()
+                    & COMP_LAT.CLR_CURRENT_CONF_PARAM.getLatching()
+                    & COMP_QUE.CLR_CURRENT_CONF_PARAM.getCompQue()
+                    | COMP_MODE.WINDOW_COMP.getCompMode()
+                    | COMP_POL.ACTIVE_LOW.getCompPol()
+                    | COMP_LAT.DO_LATCH.getLatching()
+                    | queue.getCompQue()
+                    | gain.gain
+                    | channel.mux.getMux()
+                    | OperationMode.CONTINUOUS.getMode();
+            writeRegister(CONFIG_REGISTER, config);
+        } catch (RuntimeException e) {
+            //no GPIO may be left over from the failed start, the ADC can be used again
+            if (alertInput != null) {
+                pi4j.shutdown(alertInput.id());
+                alertInput = null;
+            }
+            throw e;
+        }
+        continuousReadingActive = true;
+
+        logDebug("Threshold alert on channel %s started, window %f - %f", channel, lowVoltage, highVoltage);
+    }
+
+    /**
+     * Disables the comparator, the ADC returns to single shot mode.
+     */
+    public void stopThresholdAlert() {
+        if (alertInput == null) {
+            return;
+        }
+        writeRegister(CONFIG_REGISTER, configRegisterTemplate
+                & OperationalStatus.CLR_CURRENT_CONF_PARAM.getOperationalStatus()
+                | OperationMode.SINGLE.getMode());
+        pi4j.shutdown(alertInput.id());
+        alertInput = null;
+        continuousReadingActive = false;
+
+        logDebug("Threshold alert stopped");
+    }
+
+    /**
+     * Records a burst of raw samples of a single channel, e.g. for diagnostics. Blocks until the capture is finished.
+     * <p>
+     * The ADC converts continuously with the given data rate, the result is read once per conversion period.
+     * There are no callbacks, no logging and no allocations while capturing: the samples are stored in an off-heap
+     * buffer allocated up front. Write them to a file afterwards with {@link Ads1115Capture#writeBinary(Path)} or
+     * {@link Ads1115Capture#writeCsv(Path)}.
+     * <p>
+     * The reads are timed by the Pi, while the conversions are timed by the internal oscillator of the ADC (+-10%).
+     * The timestamps record when each value was actually read. Single reads and continuous reading are not possible
+     * while capturing.
+     *
+     * @param channel  ADC channel to capture
+     * @param rate     data rate of the ADC during the capture, e.g. {@link DataRate#SPS_860}
+     * @param duration length of the capture
+     * @return the captured samples
+     */
+    public Ads1115Capture capture(Channel channel, DataRate rate, Duration duration) {
+        if (rate.getSpS() == 0) {
+            throw new IllegalArgumentException("Invalid data rate " + rate);
+        }
+        if (continuousReadingActive) {
+            throw new IllegalStateException("Continuous measuring active, can't start capture");
+        }
+        long period  = 1_000_000_000L / rate.getSpS();
+        int  samples = (int) (duration.toNanos() / period);
+        GAIN gain = channelGains[channel.ordinal()];
+        Ads1115Capture capture = new Ads1115Capture(channel, rate, gain.gainPerBit, samples);
+
+        logDebug("Capturing %d samples of channel %s", samples, channel);
+        continuousReadingActive = true;
+        try {
+            int config = configRegisterTemplate
+                    & PGA.CLR_CURRENT_CONF_PARAM.getPga()
+                    & DataRate.CLR_CURRENT_CONF_PARAM.getConf()
+                    | gain.gain
+                    | rate.getConf()
+                    | channel.mux.getMux()
+                    | OperationMode.CONTINUOUS.getMode();
+            writeRegister(CONFIG_REGISTER, config);
+            long start = System.nanoTime();
+            //first result is available after the first conversion, worst case with 10% slower oscillator
+            long first = start + period + period / 10;
+
+            for (int i = 0; i < samples; i++) {
+                delayUntil(first + i * period);
+                short raw = readConversionRegister();
+                capture.add(System.nanoTime() - start, raw);
+            }
+        } finally {
+            //back to power-down, single shot mode
+            writeRegister(CONFIG_REGISTER, configRegisterTemplate
+                    & OperationalStatus.CLR_CURRENT_CONF_PARAM.getOperationalStatus()
+                    | OperationMode.SINGLE.getMode());
+            continuousReadingActive = false;
+        }
+        logDebug("Capture of channel %s finished", channel);
+
+        return capture;
+    }
+
+    /**
+     * stops continuous reading, also stops a running threshold alert (see {@link #stopThresholdAlert()})
      */
     public void stopContinuousReading() {
-         continuousReadingActive = false;
+        if (alertInput != null) {
+            //the comparator converts on its own, it has to be disabled too
+            stopThresholdAlert();
+        }
+        continuousReadingActive = false;
+        scanStep = null;
 
         logDebug("Continuous reading stopped");
     }
@@ -171,15 +923,25 @@ public class Ads1115 extends I2CDevice {
      */
     @Override
     public void reset() {
+        stopThresholdAlert();
         stopContinuousReading();
         delay(Duration.ofMillis(channelsInUse.size() * 16L));
         channelsInUse.clear();
         oldVoltages.clear();
+        histories.clear();
+        filters.clear();
+        Arrays.fill(rawHandlers, null);
+        Arrays.fill(autoRangeLimits, 0);
+        scanListeners = new Runnable[0];
     }
 
     public void resetChannel(Channel channel){
         channelsInUse.remove(channel);
         oldVoltages.remove(channel);
+        histories.remove(channel);
+        filters.remove(channel);
+        rawHandlers[channel.ordinal()] = null;
+        autoRangeLimits[channel.ordinal()] = 0;
     }
 
     /**
@@ -187,30 +949,156 @@ public class Ads1115 extends I2CDevice {
      *
      * @return value from conversion register
      */
-    private double readSingleValue(Channel channel) {
-        MultiplexerConfig mpc = switch (channel) {
-            case A0 -> MultiplexerConfig.AIN0_GND;
-            case A1 -> MultiplexerConfig.AIN1_GND;
-            case A2 -> MultiplexerConfig.AIN2_GND;
-            case A3 -> MultiplexerConfig.AIN3_GND;
-        };
+    private short readSingleValue(Channel channel) {
+        int index = channel.ordinal();
+        short counts;
+        do {
+            startConversion(channel);
+            //wait until ad converter has stored new value in conversion register
+            delayUntil(conversionStart + conversionNanos);
+
+            counts = readRawConversion(channel);
+            //auto-ranging selected a less sensitive gain if the value was clipped
+        } while (isClipped(counts) && channelGains[index] != sampleGains[index]);
+
+        return counts;
+    }
+
+    /**
+     * Reads the result of the running conversion of 'channel'. Starts the conversion of 'next' before, the conversion
+     * register keeps the result of 'channel' until the conversion of 'next' is finished.
+     *
+     * @param channel the channel that is currently converted
+     * @param next    the channel to convert next, may be 'null'
+     * @return raw value of 'channel'
+     */
+    private short readAndStartNext(Channel channel, Channel next) {
+        delayUntil(conversionStart + maxConversionNanos);
+        if (next == null) {
+            return readRawConversion(channel);
+        }
+
+        short counts;
+        GAIN gain = conversionGain;
+        //no other device may get the bus between starting the next conversion and reading the current result
+        acquireBus();
+        try {
+            startConversion(next);
+            counts = readRawConversion(channel, gain);
+        } finally {
+            releaseBus();
+        }
+        if (System.nanoTime() - conversionStart >= minConversionNanos) {
+            //reading took too long, conversion register may already contain the value of 'next'
+            logDebug("Pipelined read of channel %s too slow, reading again", channel);
+            delayUntil(conversionStart + maxConversionNanos);
+            counts = readSingleValue(channel);
+            startConversion(next);
+        }
+        return counts;
+    }
+
+    /**
+     * Starts a single shot conversion of the channel.
+     *
+     * @param channel the channel to convert
+     */
+    void startConversion(Channel channel) {
+        GAIN gain = channelGains[channel.ordinal()];
+        //which channel should be available in ConfigRegister, precomputed for all gains
+        writeRegister(CONFIG_REGISTER, singleShotConfigs[channel.ordinal()][gain.ordinal()]);
+        conversionGain  = gain;
+        conversionStart = System.nanoTime();
+    }
 
-        //which channel should be available in ConfigRegister
-        writeRegister(CONFIG_REGISTER, configRegisterTemplate | mpc.getMux() | OperationMode.SINGLE.getMode());
-        //wait until ad converter has stored new value in conversion register
-        //delay time is reciprocal of 1/2 of sampling time (*1000 from s to ms)
-        delay(Duration.ofMillis((long) (2000.0 / dataRate.getSpS())));
+    /**
+     * Time the ADC needs to store the new value in conversion register after starting a conversion.
+     * Delay time is reciprocal of 1/2 of sampling time (*1000 from s to ms)
+     *
+     * @return minimum time between starting a conversion and reading the result
+     */
+    Duration conversionTime() {
+        return Duration.ofMillis((long) (2000.0 / dataRate.getSpS()));
+    }
 
-        //now we can read the channel value from conversion register
-        int registeredValue = readRegister(CONVERSION_REGISTER);
+    /**
+     * Reads the result of the last conversion, which must have been started for the given channel.
+     *
+     * @param channel the channel the conversion was started for
+     * @return measured voltage
+     */
+    double readConversion(Channel channel) {
+        short counts = readRawConversion(channel);
+        return sampleGains[channel.ordinal()].gainPerBit * counts;
+    }
 
-        double voltage = pga.gainPerBit * registeredValue;
+    /**
+     * Reads the raw result of the last conversion, which must have been started for the given channel.
+     *
+     * @param channel the channel the conversion was started for
+     * @return raw value
+     */
+    short readRawConversion(Channel channel) {
+        return readRawConversion(channel, conversionGain);
+    }
 
-        RawValueRange range = getRange(channel);
-        range.maxRawValue = Math.max(range.maxRawValue, voltage);
-        range.minRawValue = Math.min(range.minRawValue, voltage);
+    /**
+     * Reads the raw result of a conversion of the given channel and adapts the gain of the channel if auto-ranging
+     * is enabled.
+     *
+     * @param channel the channel the conversion was started for
+     * @param gain    the gain the conversion was started with
+     * @return raw value
+     */
+    private short readRawConversion(Channel channel, GAIN gain) {
+        short counts = readConversionRegister();
+
+        int index = channel.ordinal();
+        sampleGains[index] = gain;
+        int steps = counts * gain.steps;
+        maxSteps[index] = Math.max(maxSteps[index], steps);
+        minSteps[index] = Math.min(minSteps[index], steps);
+
+        //a conversion started before the last change of the gain doesn't count
+        if (autoRangeLimits[index] > 0 && gain == channelGains[index]) {
+            autoRange(index, counts, gain);
+        }
 
-        return voltage;
+        return counts;
+    }
+
+    /**
+     * Selects the gain of the next conversion of a channel with auto-ranging.
+     */
+    private void autoRange(int index, short counts, GAIN gain) {
+        if (isClipped(counts)) {
+            smallValues[index] = 0;
+            if (gain.ordinal() > 0) {
+                channelGains[index] = GAINS[gain.ordinal() - 1];
+            }
+        } else if (Math.abs(counts) < autoRangeLimits[index] && gain.ordinal() < autoRangeMaxGains[index].ordinal()) {
+            if (++smallValues[index] >= AUTO_RANGE_SAMPLES) {
+                smallValues[index]  = 0;
+                channelGains[index] = GAINS[gain.ordinal() + 1];
+            }
+        } else {
+            smallValues[index] = 0;
+        }
+    }
+
+    private static boolean isClipped(short counts) {
+        return counts == Short.MAX_VALUE || counts == Short.MIN_VALUE;
+    }
+
+    /**
+     * Reads the conversion register
+     *
+     * @return the raw result of the last conversion
+     */
+    private short readConversionRegister() {
+        //conversion register contains a 16-bit two's complement value, negative for differential channels
+        readRegister(CONVERSION_REGISTER, conversionBuffer, 0, conversionBuffer.length);
+        return (short) (((conversionBuffer[0] & 0xFF) << 8) | (conversionBuffer[1] & 0xFF));
     }
 
     /**
@@ -221,7 +1109,8 @@ public class Ads1115 extends I2CDevice {
      */
     private void readAllChannels(double threshold) {
         logDebug("Start continuous reading");
-        final long readFrequency = channelsInUse.size() * 16 * 1_000_000L;
+        final Channel[] channels = channelsInUse().toArray(new Channel[0]);
+        final long readFrequency = channels.length * 16 * 1_000_000L;
 
         //start new thread for continuous reading
         new Thread(() -> {
@@ -229,21 +1118,12 @@ public class Ads1115 extends I2CDevice {
                 //start measuring time
                 long startTime = System.nanoTime();
 
-                channelsInUse.forEach((channel, onValueChange) -> {
+                for (Channel channel : channels) {
                     if(continuousReadingActive){ //can be set to false in the meantime
-                        double newVoltage = readSingleValue(channel);
-                        logDebug("Current value of channel %s: %d", channel, newVoltage);
-
-                        double oldVoltage = getOldVoltage(channel);
-
-                        if (Math.abs(oldVoltage - newVoltage) >= threshold) {
-                            logDebug("New value change triggered on channel %s, old value: %f , new value: %f", channel, oldVoltage, newVoltage);
-                            oldVoltages.put(channel, newVoltage);
-
-                            onValueChange.accept(newVoltage);
-                        }
+                        processRawValue(channel, readSingleValue(channel), threshold);
                     }
-                });
+                }
+                scanComplete();
 
                 long elapsedNanos = System.nanoTime() - startTime;
                 long restDelay = elapsedNanos - readFrequency;
@@ -254,21 +1134,246 @@ public class Ads1115 extends I2CDevice {
         }).start();
     }
 
+    /**
+     * Handles a new raw value measured by continuous reading. Triggers the raw value change event if the value
+     * differs more than the threshold of the raw handler from the last reported one. The value is converted to a
+     * voltage only if the channel has a voltage handler, see {@link #processValue(Channel, double, double)}.
+     *
+     * @param channel   the channel the value was measured on
+     * @param counts    measured raw value
+     * @param threshold threshold for trigger new value change event in Volt
+     */
+    void processRawValue(Channel channel, short counts, double threshold) {
+        int index = channel.ordinal();
+        latestCounts[index] = counts;
+
+        IntConsumer rawHandler = rawHandlers[index];
+        if (rawHandler != null) {
+            int oldValue = oldCounts[index];
+            if (oldValue == NO_VALUE || Math.abs(counts - oldValue) >= rawThresholds[index]) {
+                oldCounts[index] = counts;
+                rawHandler.accept(counts);
+            }
+        }
+
+        if (channelsInUse.containsKey(channel)) {
+            processValue(channel, sampleGains[index].gainPerBit * counts, threshold);
+        }
+    }
+
+    /**
+     * Handles a new value measured by continuous reading. Adds it to the history, passes it through the filters and
+     * triggers the value change event if the filtered value differs more than threshold from the last reported one.
+     *
+     * @param channel    the channel the value was measured on
+     * @param newVoltage measured voltage
+     * @param threshold  threshold for trigger new value change event in Volt
+     */
+    void processValue(Channel channel, double newVoltage, double threshold) {
+        SampleHistory history = histories.get(channel);
+        if (history != null) {
+            history.add(newVoltage);
+        }
+
+        SignalFilter filter = filters.get(channel);
+        if (filter != null) {
+            newVoltage = filter.apply(newVoltage);
+            if (Double.isNaN(newVoltage)) {
+                //no output of filter for this value
+                return;
+            }
+        }
+
+        double oldVoltage = getOldVoltage(channel);
+
+        if (Math.abs(oldVoltage - newVoltage) >= threshold) {
+            logDebug("New value change triggered on channel %s, old value: %f , new value: %f", channel, oldVoltage, newVoltage);
+            oldVoltages.put(channel, newVoltage);
+
+            Consumer<Double> onValueChange = channelsInUse.get(channel);
+            if (onValueChange != null) {
+                onValueChange.accept(newVoltage);
+            }
+        }
+    }
+
+    /**
+     * Called by continuous reading after all channels in use have been read once.
+     */
+    void scanComplete() {
+        for (Runnable listener : scanListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @return all channels that are read by continuous reading, with a voltage or a raw handler
+     */
+    List<Channel> channelsInUse() {
+        List<Channel> channels = new ArrayList<>(channelsInUse.keySet());
+        for (Channel channel : Channel.values()) {
+            if (rawHandlers[channel.ordinal()] != null && !channels.contains(channel)) {
+                channels.add(channel);
+            }
+        }
+        return channels;
+    }
+
+    /**
+     * Marks this ADC as being read continuously by someone else, e.g. by an {@link Ads1115Group}.
+     * Single reads and registering handlers are not possible in the meantime.
+     *
+     * @param active true while continuous reading is done
+     */
+    void setContinuousReadingActive(boolean active) {
+        if (active && continuousReadingActive) {
+            throw new IllegalStateException("continuous reading already active");
+        }
+        continuousReadingActive = active;
+    }
+
+    /**
+     * Reads all channels in use round-robin in a pipeline, see {@link #readValues(Channel...)}.
+     * A new conversion is running all the time, handling the values is done while the next one is converted.
+     *
+     * @param threshold threshold for trigger new value change event in Volt
+     */
+    private void readAllChannelsPipelined(double threshold) {
+        final Channel[] channels = channelsInUse().toArray(new Channel[0]);
+        if (channels.length == 0) {
+            return;
+        }
+
+        //start new thread for continuous reading
+        new Thread(() -> {
+            int current = 0;
+            startConversion(channels[current]);
+            while (continuousReadingActive) {
+                int next = (current + 1) % channels.length;
+                short counts = readAndStartNext(channels[current], channels[next]);
+
+                processRawValue(channels[current], counts, threshold);
+                if (next == 0) {
+                    scanComplete();
+                }
+                current = next;
+            }
+        }).start();
+    }
+
+    /**
+     * One step of continuous reading on a sampler: reads the result of the current channel, starts the conversion of
+     * the next one and schedules itself for the time that conversion is finished.
+     */
+    private final class ScanStep implements Runnable {
+        private final Channel[] channels;
+        private final double threshold;
+        private final Ads1115Sampler sampler;
+        private int current;
+
+        private ScanStep(Channel[] channels, double threshold, Ads1115Sampler sampler) {
+            this.channels  = channels;
+            this.threshold = threshold;
+            this.sampler   = sampler;
+        }
+
+        @Override
+        public void run() {
+            //a stop and a new start may happen before this step runs, it mustn't scan next to the steps of the new start
+            if (!continuousReadingActive || scanStep != this) {
+                return;
+            }
+            try {
+                int next = (current + 1) % channels.length;
+                short counts = readAndStartNext(channels[current], channels[next]);
+
+                processRawValue(channels[current], counts, threshold);
+                if (next == 0) {
+                    scanComplete();
+                }
+                current = next;
+                sampler.schedule(this, conversionStart + maxConversionNanos - System.nanoTime());
+            } catch (RuntimeException e) {
+                if (scanStep != this) {
+                    //stopped in the meantime, e.g. the sampler was closed right after the stop
+                    return;
+                }
+                continuousReadingActive = false;
+                scanStep = null;
+                logException("Continuous reading stopped: ", e);
+            }
+        }
+    }
+
     private double getOldVoltage(Channel channel){
         return oldVoltages.computeIfAbsent(channel, (c) -> -10.0);
     }
 
-    private RawValueRange getRange(Channel channel){
-        return valueRanges.computeIfAbsent(channel, (c) -> new RawValueRange());
-    }
+    // --------------- for testing --------------------
 
-    private static class RawValueRange{
-        double minRawValue = 0.1;
-        double maxRawValue = 3.2;
+    public MockDigitalInput mockAlert() {
+        return asMock(MockDigitalInput.class, alertInput);
     }
 
+    /**
+     * The inputs of the ADC.
+     * <p>
+     * A0 to A3 measure single-ended against GND. Differential channels measure the voltage between two inputs
+     * (first input minus second one) and may therefore be negative.
+     */
     public enum Channel {
-        A0, A1, A2, A3
+        A0(MultiplexerConfig.AIN0_GND),
+        A1(MultiplexerConfig.AIN1_GND),
+        A2(MultiplexerConfig.AIN2_GND),
+        A3(MultiplexerConfig.AIN3_GND),
+        /**
+         * differential input A0 - A1
+         */
+        A0_A1(MultiplexerConfig.AIN0_AIN1),
+        /**
+         * differential input A0 - A3
+         */
+        A0_A3(MultiplexerConfig.AIN0_AIN3),
+        /**
+         * differential input A1 - A3
+         */
+        A1_A3(MultiplexerConfig.AIN1_AIN3),
+        /**
+         * differential input A2 - A3
+         */
+        A2_A3(MultiplexerConfig.AIN2_AIN3);
+
+        /**
+         * multiplexer configuration selecting the input(s)
+         */
+        private final MultiplexerConfig mux;
+
+        Channel(MultiplexerConfig mux) {
+            this.mux = mux;
+        }
+
+        public MultiplexerConfig getMux() {
+            return mux;
+        }
+
+        public boolean isDifferential() {
+            return ordinal() > A3.ordinal();
+        }
+    }
+
+    /**
+     * How continuous reading scans the channels
+     */
+    public enum ScanMode {
+        /**
+         * For each channel: start conversion, wait, read result.
+         */
+        SEQUENTIAL,
+        /**
+         * Start conversion of the next channel, then read the result of the current one. Handling the result
+         * overlaps with the next conversion.
+         */
+        PIPELINED
     }
 
     /**
@@ -343,27 +1448,27 @@ public class Ads1115 extends I2CDevice {
         /**
          * 000 : Full-Scale Range (FSR)  = ±6.144 V
          */
-        GAIN_6_144V(PGA.FSR_6_144.pga, 187.5 / 1_000_000.0),
+        GAIN_6_144V(PGA.FSR_6_144.pga, 187.5 / 1_000_000.0, 24),
         /**
          * 001 : FSR = ±4.096 V
          */
-        GAIN_4_096V(PGA.FSR_4_096.pga, 125.0 / 1_000_000.0),
+        GAIN_4_096V(PGA.FSR_4_096.pga, 125.0 / 1_000_000.0, 16),
         /**
          * 010 : FSR = ±2.048 V
          */
-        GAIN_2_048V(PGA.FSR_2_048.pga, 62.5 / 1_000_000.0),
+        GAIN_2_048V(PGA.FSR_2_048.pga, 62.5 / 1_000_000.0, 8),
         /**
          * 011 : FSR = ±1.024 V
          */
-        GAIN_1_024V(PGA.FSR_1_024.pga, 31.25 / 1_000_000.0),
+        GAIN_1_024V(PGA.FSR_1_024.pga, 31.25 / 1_000_000.0, 4),
         /**
          * 100 : FSR = ±0.512 V
          */
-        GAIN_0_512V(PGA.FSR_0_512.pga, 15.625 / 1_000_000.0),
+        GAIN_0_512V(PGA.FSR_0_512.pga, 15.625 / 1_000_000.0, 2),
         /**
          * 101 : FSR = ±0.256 V
          */
-        GAIN_0_256V(PGA.FSR_0_256.pga, 7.8125 / 1_000_000.0);
+        GAIN_0_256V(PGA.FSR_0_256.pga, 7.8125 / 1_000_000.0, 1);
         /**
          * bit structure for configuration
          */
@@ -372,16 +1477,22 @@ public class Ads1115 extends I2CDevice {
          * gain per bit
          */
         private final double gainPerBit;
+        /**
+         * gain per bit in steps of the most sensitive gain
+         */
+        private final int steps;
 
         /**
          * Set bit-structure for configuration and resolution (gain per bit)
          *
          * @param gain       configuration for gain
          * @param gainPerBit resolution
+         * @param steps      resolution as multiple of the resolution of {@link #GAIN_0_256V}
          */
-        GAIN(int gain, double gainPerBit) {
+        GAIN(int gain, double gainPerBit, int steps) {
             this.gain = gain;
             this.gainPerBit = gainPerBit;
+            this.steps = steps;
         }
 
         /**
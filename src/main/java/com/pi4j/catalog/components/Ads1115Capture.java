@@ -0,0 +1,117 @@
+package com.pi4j.catalog.components;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * A burst of raw samples of one 'Ads1115' channel, recorded by {@link Ads1115#capture}.
+ * <p>
+ * The samples are kept off-heap in a buffer allocated before the capture starts, so recording them doesn't create
+ * any garbage. Each sample is a record of {@value #RECORD_SIZE} bytes: the time since the start of the capture in
+ * nanoseconds (long) followed by the raw 16-bit two's complement conversion result (short), both big-endian.
+ * {@link #writeBinary(Path)} writes exactly these records.
+ */
+public final class Ads1115Capture {
+    /**
+     * bytes per sample: timestamp (long) and raw value (short)
+     */
+    public static final int RECORD_SIZE = Long.BYTES + Short.BYTES;
+
+    private final Ads1115.Channel channel;
+    private final Ads1115.DataRate dataRate;
+    private final double gainPerBit;
+    private final ByteBuffer records;
+
+    Ads1115Capture(Ads1115.Channel channel, Ads1115.DataRate dataRate, double gainPerBit, int capacity) {
+        this.channel    = channel;
+        this.dataRate   = dataRate;
+        this.gainPerBit = gainPerBit;
+        this.records    = ByteBuffer.allocateDirect(capacity * RECORD_SIZE);
+    }
+
+    /**
+     * Appends a sample, called by the capturing thread only.
+     */
+    void add(long timestamp, short raw) {
+        records.putLong(timestamp).putShort(raw);
+    }
+
+    public Ads1115.Channel getChannel() {
+        return channel;
+    }
+
+    public Ads1115.DataRate getDataRate() {
+        return dataRate;
+    }
+
+    /**
+     * @return number of samples captured
+     */
+    public int getSampleCount() {
+        return records.position() / RECORD_SIZE;
+    }
+
+    /**
+     * @param index index of the sample
+     * @return time of the sample since the start of the capture, in nanoseconds
+     */
+    public long getTimestamp(int index) {
+        return records.getLong(index * RECORD_SIZE);
+    }
+
+    /**
+     * @param index index of the sample
+     * @return raw conversion result of the sample
+     */
+    public short getRawValue(int index) {
+        return records.getShort(index * RECORD_SIZE + Long.BYTES);
+    }
+
+    /**
+     * @param index index of the sample
+     * @return voltage of the sample
+     */
+    public double getVoltage(int index) {
+        return getRawValue(index) * gainPerBit;
+    }
+
+    /**
+     * Writes all samples as binary records, see class description for the format.
+     *
+     * @param file the file to write, an existing file is replaced
+     * @throws IOException if the file can't be written
+     */
+    public void writeBinary(Path file) throws IOException {
+        ByteBuffer data = records.duplicate().flip();
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                out.write(data);
+            }
+        }
+    }
+
+    /**
+     * Writes all samples as CSV with the columns timestamp in nanoseconds, raw value and voltage.
+     *
+     * @param file the file to write, an existing file is replaced
+     * @throws IOException if the file can't be written
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("timestamp_ns,raw,voltage");
+            out.newLine();
+            int count = getSampleCount();
+            for (int i = 0; i < count; i++) {
+                out.write(String.format(Locale.ROOT, "%d,%d,%.6f", getTimestamp(i), getRawValue(i), getVoltage(i)));
+                out.newLine();
+            }
+        }
+    }
+}
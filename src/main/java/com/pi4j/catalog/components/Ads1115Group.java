@@ -0,0 +1,180 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pi4j.catalog.components.base.Component;
+
+/**
+ * Continuous reading of several 'Ads1115', up to four on each I2C bus.
+ * <p>
+ * Each ADC needs some time for a conversion, while the bus itself is idle. Instead of reading the ADCs one after the
+ * other, the group starts a conversion on all ADCs, waits for the conversion time once and then collects all results.
+ * The aggregate sampling rate therefore grows with the number of ADCs.
+ * <p>
+ * The ADCs of each I2C bus are read by a thread of their own, transfers on different buses (e.g. /dev/i2c-1 and
+ * /dev/i2c-3) overlap in time. The handlers of an ADC are called by the thread of its bus.
+ * <p>
+ * Register the handlers on the individual ADCs via {@link Ads1115#onValueChange}, then start the continuous reading
+ * on the group (and not on the ADCs).
+ */
+public class Ads1115Group extends Component {
+
+    private final List<Ads1115> adcs;
+
+    /**
+     * the ADCs of the group, one list for each I2C bus
+     */
+    private final List<List<Ads1115>> adcsPerBus;
+
+    private volatile boolean continuousReadingActive;
+
+    /**
+     * one reader for each I2C bus
+     */
+    private final List<Thread> readerThreads = new ArrayList<>();
+
+    /**
+     * Creates a group of ADCs.
+     *
+     * @param adcs the ADCs, ADCs on the same bus need different addresses
+     */
+    public Ads1115Group(Ads1115... adcs) {
+        if (adcs.length < 1) {
+            throw new IllegalArgumentException("Group needs at least 1 ADC");
+        }
+        Set<String> addresses = new HashSet<>();
+        for (Ads1115 adc : adcs) {
+            if (!addresses.add(adc.getBus().getBus() + "@" + adc.getAddress())) {
+                throw new IllegalArgumentException("Address " + adc.getAddress() + " is used by more than one ADC on bus " + adc.getBus().getBus());
+            }
+        }
+        this.adcs = List.of(adcs);
+
+        Map<Integer, List<Ads1115>> byBus = new LinkedHashMap<>();
+        for (Ads1115 adc : adcs) {
+            byBus.computeIfAbsent(adc.getBus().getBus(), bus -> new ArrayList<>()).add(adc);
+        }
+        this.adcsPerBus = List.copyOf(byBus.values());
+    }
+
+    /**
+     * Starts continuous reading of all channels in use on all ADCs of the group.
+     *
+     * @param threshold threshold for triggering value change event (+- voltage)
+     */
+    public void startContinuousReading(double threshold) {
+        if (continuousReadingActive) {
+            throw new IllegalStateException("continuous reading already active");
+        }
+        //readers ended by an error may still be finishing
+        joinReaders();
+        adcs.forEach(adc -> adc.setContinuousReadingActive(true));
+        continuousReadingActive = true;
+
+        for (List<Ads1115> adcsOfBus : adcsPerBus) {
+            Thread readerThread = new Thread(() -> readAllAdcs(adcsOfBus, threshold),
+                                             "Ads1115Group-" + adcsOfBus.get(0).getBus().getBus());
+            readerThread.setDaemon(true);
+            readerThreads.add(readerThread);
+            readerThread.start();
+        }
+
+        logDebug("Start continuous reading of %d ADCs on %d buses", adcs.size(), adcsPerBus.size());
+    }
+
+    /**
+     * stops continuous reading
+     */
+    public void stopContinuousReading() {
+        if (!continuousReadingActive) {
+            return;
+        }
+        continuousReadingActive = false;
+        joinReaders();
+        adcs.forEach(adc -> adc.setContinuousReadingActive(false));
+
+        logDebug("Continuous reading stopped");
+    }
+
+    private void joinReaders() {
+        for (Thread readerThread : readerThreads) {
+            try {
+                readerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        readerThreads.clear();
+    }
+
+    @Override
+    public void reset() {
+        stopContinuousReading();
+        adcs.forEach(Ads1115::reset);
+    }
+
+    /**
+     * Reads the ADCs of one bus until continuous reading is stopped.
+     */
+    private void readAllAdcs(List<Ads1115> adcs, double threshold) {
+        int adcCount = adcs.size();
+        Ads1115.Channel[][] channels = new Ads1115.Channel[adcCount][];
+        int slots = 0;
+        Duration conversionTime = Duration.ZERO;
+        for (int i = 0; i < adcCount; i++) {
+            channels[i] = adcs.get(i).channelsInUse().toArray(new Ads1115.Channel[0]);
+            slots = Math.max(slots, channels[i].length);
+            Duration adcConversionTime = adcs.get(i).conversionTime();
+            if (adcConversionTime.compareTo(conversionTime) > 0) {
+                conversionTime = adcConversionTime;
+            }
+        }
+
+        try {
+            readSlots(adcs, threshold, channels, slots, conversionTime);
+        } catch (Exception e) {
+            logException("Error reading ADCs: ", e);
+        } finally {
+            //an error ends the reading of the whole group, it can be started again
+            continuousReadingActive = false;
+            this.adcs.forEach(adc -> adc.setContinuousReadingActive(false));
+        }
+    }
+
+    private void readSlots(List<Ads1115> adcs, double threshold, Ads1115.Channel[][] channels, int slots, Duration conversionTime) {
+        int adcCount = adcs.size();
+        while (continuousReadingActive) {
+            for (int slot = 0; slot < slots && continuousReadingActive; slot++) {
+                // start a conversion on each ADC ...
+                for (int i = 0; i < adcCount; i++) {
+                    if (slot < channels[i].length) {
+                        adcs.get(i).startConversion(channels[i][slot]);
+                    }
+                }
+
+                // ... all of them convert at the same time ...
+                delay(conversionTime);
+
+                // ... and collect the results
+                for (int i = 0; i < adcCount; i++) {
+                    if (slot < channels[i].length) {
+                        Ads1115 adc = adcs.get(i);
+                        Ads1115.Channel channel = channels[i][slot];
+                        adc.processRawValue(channel, adc.readRawConversion(channel), threshold);
+                    }
+                }
+            }
+            if (slots == 0) {
+                delay(conversionTime);
+            } else {
+                adcs.forEach(Ads1115::scanComplete);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the continuous reading of any number of {@link Ads1115} on a small pool of threads.
+ * <p>
+ * By default each ADC reads its channels on its own thread, which spends almost all of its time waiting for the
+ * next conversion. With a sampler, a scan step (reading the result of the running conversion, starting the next one
+ * and handling the value) is scheduled for the time the conversion is finished. No thread is blocked while the ADCs
+ * convert, so a single thread serves all ADCs of an application, e.g. several joysticks and potentiometers.
+ * <p>
+ * The handlers of all ADCs run on the threads of the sampler, a slow handler delays the other ADCs. Use more threads
+ * or hand over expensive work to another thread in that case.
+ *
+ * @see Ads1115#startContinuousReading(double, Ads1115Sampler)
+ */
+public final class Ads1115Sampler implements AutoCloseable {
+    private static final Ads1115Sampler SHARED = new Ads1115Sampler(1);
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Creates a sampler with its own threads. Close it when it's not needed anymore.
+     *
+     * @param threads number of threads, 1 is sufficient unless handlers take long
+     */
+    public Ads1115Sampler(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("at least one thread is needed");
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "Ads1115Sampler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ScheduledThreadPoolExecutor(threads, factory);
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return a sampler with a single daemon thread, shared by all ADCs using it
+     */
+    public static Ads1115Sampler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs a scan step after the given delay.
+     *
+     * @param step       the step to run
+     * @param delayNanos delay in nanoseconds, the step runs immediately if it's not positive
+     */
+    void schedule(Runnable step, long delayNanos) {
+        executor.schedule(step, Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the threads of the sampler, no further scan steps are run. Stop the continuous reading of the ADCs
+     * using it before. The shared sampler can't be closed.
+     */
+    @Override
+    public void close() {
+        if (this == SHARED) {
+            throw new IllegalStateException("the shared sampler can't be closed");
+        }
+        executor.shutdownNow();
+    }
+}
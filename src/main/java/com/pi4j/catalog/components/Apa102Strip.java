@@ -0,0 +1,101 @@
+package com.pi4j.catalog.components;
+
+import com.pi4j.context.Context;
+import com.pi4j.io.spi.Spi;
+import com.pi4j.io.spi.SpiBus;
+
+/**
+ * Creates an SPI Control for an APA102 or SK9822 LED strip ('DotStar').
+ * <p>
+ * In contrast to the WS2812 of {@link LedStrip}, these LEDs have a clock input: connect it to SCLK and the data input
+ * to MOSI of the SPI bus. The timing is given by the clock, there's no need to emulate the bit timing. Each LED takes
+ * 4 bytes instead of 24 and the SPI can run much faster, a frame of a long strip is sent in a fraction of the time.
+ * <p>
+ * Each LED has a 5-bit brightness control besides the 8-bit color components. The max. brightness is set with this
+ * control as far as possible, so dimmed colors keep their full resolution.
+ * <p>
+ * A frame is a start frame of 32 zero bits, a 32-bit frame for each LED ({@code 111} followed by the brightness
+ * level, blue, green and red) and an end frame: 32 zero bits (the reset frame needed by the SK9822) followed by at
+ * least one clock pulse for each two LEDs to push the data to the end of the strip.
+ */
+public class Apa102Strip extends PixelStrip {
+    /**
+     * Default Channel of the SPI Pins
+     */
+    private static final int DEFAULT_SPI_CHANNEL = 0;
+    /**
+     * Default SPI bus, SPI1 is available with UART enabled
+     */
+    private static final SpiBus DEFAULT_SPI_BUS = SpiBus.BUS_1;
+    /**
+     * Default SPI clock, long strips with long wires may need less
+     */
+    private static final int DEFAULT_FREQUENCY = 8_000_000;
+
+    /**
+     * number of bytes of the start frame and of the reset frame
+     */
+    private static final int FRAME_BYTES = 4;
+    private static final int BYTES_PER_LED = 4;
+    private static final int LED_FRAME_MARKER = 0b1110_0000;
+    private static final int BRIGHTNESS_STEPS = 31;
+
+    /**
+     * Creates a new APA102 strip on SPI bus 1, channel 0.
+     *
+     * @param pi4j         Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     */
+    public Apa102Strip(Context pi4j, int numberOfLEDs) {
+        this(pi4j, numberOfLEDs, DEFAULT_BRIGHTNESS, DEFAULT_SPI_BUS, DEFAULT_SPI_CHANNEL, DEFAULT_FREQUENCY);
+    }
+
+    /**
+     * Creates a new APA102 strip.
+     *
+     * @param pi4j          Pi4J context
+     * @param numberOfLEDs  How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param bus           which SPI bus to use
+     * @param channel       which channel (chip select) of the bus to use, range 0 - 2. The LEDs ignore it.
+     * @param baud          SPI clock, up to about 20 MHz for short strips
+     */
+    public Apa102Strip(Context pi4j, int numberOfLEDs, double maxBrightness, SpiBus bus, int channel, int baud) {
+        super(pi4j,
+              Spi.newConfigBuilder(pi4j)
+                        .id("SPI-" + bus.getBus() + "-" + channel)
+                        .bus(bus)
+                        .name("APA102 LED Strip")
+                        .address(channel)
+                        .baud(baud)
+                        .build(),
+              numberOfLEDs, frameSize(numberOfLEDs));
+        if (maxBrightness < 0 || maxBrightness > 1 || channel < 0 || channel > 2 || baud < 1) {
+            throw new IllegalArgumentException("Illegal Constructor");
+        }
+        setMaxBrightness(maxBrightness);
+
+        logDebug("APA102 LED strip with %d LEDs", numberOfLEDs);
+    }
+
+    /**
+     * @return start frame, LED frames, reset frame and half a clock pulse per LED, all other bytes stay zero
+     */
+    private static int frameSize(int numberOfLEDs) {
+        return FRAME_BYTES + BYTES_PER_LED * Math.max(numberOfLEDs, 0) + FRAME_BYTES + (numberOfLEDs + 15) / 16;
+    }
+
+    @Override
+    protected int getBrightnessSteps() {
+        return BRIGHTNESS_STEPS;
+    }
+
+    @Override
+    protected void encodePixel(byte[] frame, int pixel, int red, int green, int blue, int level) {
+        int offset = FRAME_BYTES + pixel * BYTES_PER_LED;
+        frame[offset]     = (byte) (LED_FRAME_MARKER | level);
+        frame[offset + 1] = (byte) blue;
+        frame[offset + 2] = (byte) green;
+        frame[offset + 3] = (byte) red;
+    }
+}
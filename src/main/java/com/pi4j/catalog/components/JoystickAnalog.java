@@ -1,9 +1,11 @@
 package com.pi4j.catalog.components;
 
+import java.lang.invoke.VarHandle;
 import java.time.Duration;
 
 import com.pi4j.catalog.components.base.Component;
 import com.pi4j.catalog.components.base.PIN;
+import com.pi4j.catalog.components.helpers.InputShaping;
 
 /**
  * An analog joystick needs to use an analog-digital convertor (ADC) to be attached to RaspPi.
@@ -16,9 +18,17 @@ import com.pi4j.catalog.components.base.PIN;
  *     <li>Normalized values are between -1 and 1. 0 means that joystick is in home position</li>
  *     <li>Raw value is the measured voltage</li>
  * </ul>
- *
+ * Both axes are sampled in the same scan of the ADC. After each scan the position is shaped (dead zone, response
+ * curve, see {@link #setInputShaping(InputShaping)}), published as a consistent (x, y) pair and 'onMove' is called at
+ * most once.
  */
 public class JoystickAnalog extends Component {
+    /**
+     * default shaping, a square dead zone of 0.1 around the home position
+     */
+    private static final InputShaping DEFAULT_SHAPING = InputShaping.builder()
+                                                                    .deadZone(InputShaping.DeadZone.SQUARE, 0.1)
+                                                                    .build();
 
     private final Ads1115 ads1115;
     /**
@@ -36,11 +46,36 @@ public class JoystickAnalog extends Component {
      */
     private final SimpleButton push;
 
-    private final double normThreshold;
+    /**
+     * square of the distance the position has to move until the next onMove event
+     */
+    private final double squaredNormThreshold;
+
+    /**
+     * dead zone and response curve applied to the position
+     */
+    private volatile InputShaping inputShaping = DEFAULT_SHAPING;
+
+    private PositionConsumer onMove;
+    private Runnable onCenter;
 
-    private double xActualValue;
-    private double yActualValue;
+    /**
+     * the scan listener of this joystick, the ADC may have other listeners too
+     */
+    private final Runnable scanListener = this::sample;
 
+    /**
+     * current position, written by the sampling thread only. Readers use 'version' as seqlock, it's odd while
+     * the position is updated.
+     */
+    private double xPosition;
+    private double yPosition;
+    private volatile long version;
+
+    /**
+     * only accessed by the sampling thread
+     */
+    private final double[] shaped = new double[2];
     private double xLastNotifiedValue = 999;
     private double yLastNotifiedValue = 999;
 
@@ -72,24 +107,90 @@ public class JoystickAnalog extends Component {
         this.xAxis         = potentiometerX;
         this.yAxis         = potentiometerY;
         this.push          = push;
-        this.normThreshold = normThreshold;
+        this.squaredNormThreshold = normThreshold * normThreshold;
     }
 
+    /**
+     * Registers the handlers for joystick movements. Must be called before continuous reading of the ADC is started.
+     * <p>
+     * Both handlers are called by the continuous reading thread, at most once per scan of the ADC channels.
+     *
+     * @param onMove   called with the new position if the joystick was moved
+     * @param onCenter called if the joystick is in home position
+     */
     public void onMove(PositionConsumer onMove, Runnable onCenter){
-        xAxis.onNormalizedValueChange((xPos) -> {
-            xActualValue = xPos;
-            notifyIfNeeded(onMove, onCenter);
-        });
-
-        yAxis.onNormalizedValueChange((yPos) -> {
-            yActualValue = -yPos;
-            notifyIfNeeded(onMove, onCenter);
-        });
+        this.onMove   = onMove;
+        this.onCenter = onCenter;
+
+        ads1115.addChannel(xAxis.getChannel());
+        ads1115.addChannel(yAxis.getChannel());
+        //registered only once, even if the handlers are replaced
+        ads1115.removeScanListener(scanListener);
+        ads1115.addScanListener(scanListener);
+    }
+
+    /**
+     * Sets dead zone, response curve and radial clamping of the position. The joystick is in home position while
+     * the shaped position is (0, 0). Default is a square dead zone of 0.1 with linear response.
+     *
+     * @param shaping the shaping to use, e.g. {@code InputShaping.builder().deadZone(CIRCULAR, 0.08).exponential(2).radialClamp(true).build()}
+     */
+    public void setInputShaping(InputShaping shaping) {
+        inputShaping = shaping != null ? shaping : InputShaping.none();
+    }
+
+    /**
+     * Takes a consistent snapshot of the position, measured in the same scan of the ADC. Can be called from any
+     * thread, never blocks the sampling.
+     *
+     * @return current position of the joystick
+     */
+    public Position getPosition() {
+        while (true) {
+            long v = version;
+            if ((v & 1) == 0) {
+                double x = xPosition;
+                double y = yPosition;
+
+                VarHandle.acquireFence();
+                if (version == v) {
+                    return new Position(x, y);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Called by the continuous reading thread after each scan of the ADC.
+     */
+    private void sample() {
+        double rawX =  xAxis.normalizeVoltage(ads1115.getLatestVoltage(xAxis.getChannel()));
+        double rawY = -yAxis.normalizeVoltage(ads1115.getLatestVoltage(yAxis.getChannel()));
+        inputShaping.apply(rawX, rawY, shaped);
+        double x = shaped[0];
+        double y = shaped[1];
+
+        long v = version;
+        version = v + 1;
+        VarHandle.storeStoreFence();
+        xPosition = x;
+        yPosition = y;
+        version = v + 2;
+
+        notifyIfNeeded(x, y);
     }
 
-    private synchronized void notifyIfNeeded(PositionConsumer onMove, Runnable onCenter){
-        final double homeArea = 0.1;
-        if (Math.abs(xActualValue) <= homeArea && Math.abs(yActualValue) <= homeArea) {
+    private void notifyIfNeeded(double xActualValue, double yActualValue){
+        //handlers may be reset in the meantime
+        PositionConsumer onMove   = this.onMove;
+        Runnable         onCenter = this.onCenter;
+
+        if (xActualValue == 0.0 && yActualValue == 0.0) {
+            //only when returning to the home position, not on each scan at rest
+            if (xLastNotifiedValue == 0.0 && yLastNotifiedValue == 0.0) {
+                return;
+            }
             xLastNotifiedValue = xActualValue;
             yLastNotifiedValue = yActualValue;
             if (onCenter != null) {
@@ -97,9 +198,10 @@ public class JoystickAnalog extends Component {
             }
         }
         else {
-            double distance = Math.sqrt(Math.pow(xActualValue - xLastNotifiedValue, 2) + Math.pow(yActualValue - yLastNotifiedValue, 2));
+            double dx = xActualValue - xLastNotifiedValue;
+            double dy = yActualValue - yLastNotifiedValue;
 
-            if(distance > normThreshold){
+            if(dx * dx + dy * dy > squaredNormThreshold){
                 xLastNotifiedValue = xActualValue;
                 yLastNotifiedValue = yActualValue;
 
@@ -158,9 +260,14 @@ public class JoystickAnalog extends Component {
     @Override
     public void reset() {
         ads1115.stopContinuousReading();
+        ads1115.removeScanListener(scanListener);
         xAxis.reset();
         yAxis.reset();
-        push.reset();
+        if (push != null) {
+            push.reset();
+        }
+        onMove   = null;
+        onCenter = null;
     }
 
     @FunctionalInterface
@@ -168,4 +275,30 @@ public class JoystickAnalog extends Component {
         void accept(double xPos, double YPos);
     }
 
+    /**
+     * Immutable position of the joystick, both values measured in the same scan
+     */
+    public static final class Position {
+        private final double x;
+        private final double y;
+
+        private Position(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("(%.2f, %.2f)", x, y);
+        }
+    }
+
 }
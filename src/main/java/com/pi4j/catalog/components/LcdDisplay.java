@@ -5,6 +5,7 @@ import java.time.Duration;
 import com.pi4j.context.Context;
 import com.pi4j.io.i2c.I2C;
 
+import com.pi4j.catalog.components.base.I2CBus;
 import com.pi4j.catalog.components.base.I2CDevice;
 
 /**
@@ -60,6 +61,11 @@ public class LcdDisplay extends I2CDevice {
 
     private static final int DEFAULT_DEVICE = 0x27;
 
+    /**
+     * each command is sent in two parts, each part needs two bytes to toggle the enable bit
+     */
+    private static final int BYTES_PER_COMMAND = 4;
+
     /**
      * Number of rows on the display
      */
@@ -102,9 +108,25 @@ public class LcdDisplay extends I2CDevice {
      * @param device    I2C device address
      */
     public LcdDisplay(Context pi4j, int rows, int columns, int device) {
-        super(pi4j, device, "PCF8574AT backed LCD");
+        this(pi4j, rows, columns, DEFAULT_BUS, device);
+    }
+
+    /**
+     * Creates a new LCDDisplay component with custom rows and columns on the given I2C bus
+     *
+     * @param pi4j      Pi4J context
+     * @param rows      amount of display lines
+     * @param columns   amount of chars on each line
+     * @param bus       I2C bus number, e.g. 1 for /dev/i2c-1
+     * @param device    I2C device address
+     */
+    public LcdDisplay(Context pi4j, int rows, int columns, int bus, int device) {
+        super(pi4j, bus, device, "PCF8574AT backed LCD");
         this.rows    = rows;
         this.columns = columns;
+
+        //a display refresh can wait for time-critical devices on the same bus
+        setBusPriority(I2CBus.Priority.LOW);
     }
 
 
@@ -195,16 +217,19 @@ public class LcdDisplay extends I2CDevice {
             logError("Wrong line id '%d'. Only %d lines possible", line, rows);
         }
         else {
-            setCursorToPosition(line, 0);
+            //cursor command and all characters are sent in a single transaction
+            byte[] buffer = new byte[BYTES_PER_COMMAND * (1 + position + columns)];
+            int offset = encodeTwoPartsCommand(buffer, 0, cursorCommand(line, 0), (byte) 0);
             for(int i= 0; i < position; i++){
-                writeCharacter(' ');
+                offset = encodeTwoPartsCommand(buffer, offset, (byte) ' ', Rs);
             }
-            for (char character : text.toCharArray()) {
-                writeCharacter(character);
+            for (int i = 0; i < text.length(); i++) {
+                offset = encodeTwoPartsCommand(buffer, offset, (byte) text.charAt(i), Rs);
             }
             for(int i = 0; i< columns - text.length(); i++){
-                writeCharacter(' ');
+                offset = encodeTwoPartsCommand(buffer, offset, (byte) ' ', Rs);
             }
+            sendBlock(buffer, offset);
         }
     }
 
@@ -277,11 +302,12 @@ public class LcdDisplay extends I2CDevice {
      * @param pos  for the start of the text
      */
     private void displayLine(String text, int pos) {
-        sendLcdTwoPartsCommand((byte) (0x80 + pos));
-
+        byte[] buffer = new byte[BYTES_PER_COMMAND * (1 + text.length())];
+        int offset = encodeTwoPartsCommand(buffer, 0, (byte) (0x80 + pos), (byte) 0);
         for (int i = 0; i < text.length(); i++) {
-            writeCharacter(text.charAt(i));
+            offset = encodeTwoPartsCommand(buffer, offset, (byte) text.charAt(i), Rs);
         }
+        sendBlock(buffer, offset);
     }
 
     /**
@@ -310,7 +336,11 @@ public class LcdDisplay extends I2CDevice {
         if (pos < 0 || pos > columns-1) {
             throw new IllegalArgumentException("Line out of range. Display has only " + rows + "x" + columns + " Characters!");
         }
-        sendLcdTwoPartsCommand((byte) (LCD_SET_DDRAM_ADDR | pos + LCD_ROW_OFFSETS[line]));
+        sendLcdTwoPartsCommand(cursorCommand(line, pos));
+    }
+
+    private byte cursorCommand(int line, int pos) {
+        return (byte) (LCD_SET_DDRAM_ADDR | pos + LCD_ROW_OFFSETS[line]);
     }
 
     /**
@@ -329,11 +359,12 @@ public class LcdDisplay extends I2CDevice {
         if (location > 7 || location < 1) {
             throw new IllegalArgumentException("Invalid memory location. Range 1-7 allowed. Value: " + location);
         }
-        sendLcdTwoPartsCommand((byte) (LCD_SET_CGRAM_ADDR | location << 3));
-
+        byte[] buffer = new byte[BYTES_PER_COMMAND * 9];
+        int offset = encodeTwoPartsCommand(buffer, 0, (byte) (LCD_SET_CGRAM_ADDR | location << 3), (byte) 0);
         for (int i = 0; i < 8; i++) {
-            sendLcdTwoPartsCommand(character[i], (byte) 1);
+            offset = encodeTwoPartsCommand(buffer, offset, character[i], Rs);
         }
+        sendBlock(buffer, offset);
     }
 
     /**
@@ -367,22 +398,45 @@ public class LcdDisplay extends I2CDevice {
      * Write a command in 2 parts to the LCD
      */
     private void sendLcdTwoPartsCommand(byte cmd, byte mode) {
-        //bitwise AND with 11110000 to remove last 4 bits
-        writeFourBits((byte) (mode | (cmd & 0xF0)));
-        //bitshift and bitwise AND to remove first 4 bits
-        writeFourBits((byte) (mode | ((cmd << 4) & 0xF0)));
+        byte[] buffer = new byte[BYTES_PER_COMMAND];
+        sendBlock(buffer, encodeTwoPartsCommand(buffer, 0, cmd, mode));
     }
 
     /**
-     * Write the four bits of a byte to the LCD
+     * Encodes a command in 2 parts (four bits each), each part is clocked into the LCD by a high and a low level
+     * of the enable bit.
      *
-     * @param data the byte that is sent
+     * @param buffer the buffer to encode to, needs {@link #BYTES_PER_COMMAND} bytes starting at offset
+     * @param offset position of the first byte
+     * @param cmd    the command or character
+     * @param mode   0 for commands, {@link #Rs} for characters
+     * @return position behind the encoded command
      */
-    private void writeFourBits(byte data) {
+    private int encodeTwoPartsCommand(byte[] buffer, int offset, byte cmd, byte mode) {
+        //bitwise AND with 11110000 to remove last 4 bits
+        offset = encodeFourBits(buffer, offset, (byte) (mode | (cmd & 0xF0)));
+        //bitshift and bitwise AND to remove first 4 bits
+        return encodeFourBits(buffer, offset, (byte) (mode | ((cmd << 4) & 0xF0)));
+    }
+
+    private int encodeFourBits(byte[] buffer, int offset, byte data) {
         byte backlightStatus = backlight ? LCD_BACKLIGHT : LCD_NO_BACKLIGHT;
 
-        write((byte) (data | En | backlightStatus));
-        write((byte) ((data & ~En) | backlightStatus));
+        buffer[offset]     = (byte) (data | En | backlightStatus);
+        buffer[offset + 1] = (byte) ((data & ~En) | backlightStatus);
+        return offset + 2;
+    }
+
+    /**
+     * Sends encoded commands in a single I2C transaction. The PCF8574 sets its outputs byte by byte, the transfer
+     * time of a byte on the bus (at least 22us at 400kHz) is enough for the LCD to latch a nibble, and the two bytes
+     * until the next enable pulse are more than the 37us the LCD needs to execute a command.
+     *
+     * @param buffer encoded commands
+     * @param length number of bytes to send
+     */
+    private void sendBlock(byte[] buffer, int length) {
+        write(buffer, 0, length);
 
         delay(Duration.ofNanos(50_000));
     }
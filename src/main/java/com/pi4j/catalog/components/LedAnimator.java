@@ -0,0 +1,341 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import com.pi4j.catalog.components.base.Component;
+
+/**
+ * Animates any number of LED strips ({@link PixelStrip}) and {@link LedMatrix}es with {@link LedEffect}s, on a
+ * single thread and at a fixed frame rate.
+ * <p>
+ * Each strip has a stack of {@link Layer}s. For each frame, every layer draws the next frame of its effect into its
+ * own pixels, the layers are combined with their {@link BlendMode} in the order they were added, and the result is
+ * set as the colors of the strip. A strip in asynchronous mode (see {@link PixelStrip#startRendering(int)}) gets the
+ * frame with {@link PixelStrip#swap()}, otherwise the animator renders it itself.
+ * <p>
+ * All buffers are allocated when the layers are added, drawing a frame doesn't allocate. While the animator is
+ * running, the pixels of its strips must not be set by other threads.
+ */
+public class LedAnimator extends Component {
+    private final long period;
+
+    /**
+     * the strips to animate, replaced as a whole when a strip is added
+     */
+    private volatile Target[] targets = new Target[0];
+
+    /**
+     * number of frames drawn so far, also the time base of the effects
+     */
+    private volatile long frame;
+
+    private volatile Thread thread;
+
+    /**
+     * Creates an animator, call {@link #start()} to run it.
+     *
+     * @param fps frames per second
+     */
+    public LedAnimator(int fps) {
+        if (fps < 1) {
+            throw new IllegalArgumentException("fps must be positive");
+        }
+        period = 1_000_000_000L / fps;
+    }
+
+    /**
+     * Adds a layer on top of the layers of the given strip.
+     *
+     * @param strip     the strip to animate
+     * @param effect    effect drawn on the layer
+     * @param blendMode how the layer is combined with the layers below
+     * @return the new layer
+     */
+    public Layer addLayer(PixelStrip strip, LedEffect effect, BlendMode blendMode) {
+        return addLayer(strip, null, effect, blendMode);
+    }
+
+    /**
+     * Adds a layer on top of the layers of the given matrix. The effects draw the pixels row by row.
+     *
+     * @param matrix    the matrix to animate
+     * @param effect    effect drawn on the layer
+     * @param blendMode how the layer is combined with the layers below
+     * @return the new layer
+     */
+    public Layer addLayer(LedMatrix matrix, LedEffect effect, BlendMode blendMode) {
+        return addLayer(matrix.getLedStrip(), matrix.getStripPositions(), effect, blendMode);
+    }
+
+    private synchronized Layer addLayer(PixelStrip strip, int[] positions, LedEffect effect, BlendMode blendMode) {
+        Target[] current = targets;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].strip == strip) {
+                Layer layer = new Layer(current[i].pixels.length, effect, blendMode);
+                Target[] changed = current.clone();
+                changed[i] = current[i].withLayer(layer);
+                targets = changed;
+                return layer;
+            }
+        }
+        Layer layer = new Layer(strip.getNumPixels(), effect, blendMode);
+        Target[] changed = Arrays.copyOf(current, current.length + 1);
+        changed[current.length] = new Target(strip, positions, new Layer[]{layer});
+        targets = changed;
+        return layer;
+    }
+
+    /**
+     * Starts the thread drawing the frames.
+     */
+    public void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Animator already running");
+        }
+        Thread animation = new Thread(this::animate, "LedAnimator");
+        animation.setDaemon(true);
+        thread = animation;
+        animation.start();
+
+        logDebug("Animation with %d strips started", targets.length);
+    }
+
+    /**
+     * Stops drawing frames and waits for the thread to finish. The strips keep showing the last frame.
+     */
+    public void stop() {
+        Thread animation = thread;
+        if (animation == null) {
+            return;
+        }
+        thread = null;
+        animation.interrupt();
+        try {
+            animation.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        logDebug("Animation stopped");
+    }
+
+    @Override
+    public void reset() {
+        stop();
+        super.reset();
+    }
+
+    /**
+     * @return number of frames drawn so far
+     */
+    public long getFrameCount() {
+        return frame;
+    }
+
+    private void animate() {
+        long next = System.nanoTime();
+        while (thread == Thread.currentThread()) {
+            next += period;
+            drawFrame();
+            if (System.nanoTime() > next) {
+                //too slow, skip the missed frames instead of catching up
+                next = System.nanoTime();
+            }
+            delayUntil(next);
+        }
+    }
+
+    /**
+     * Draws the next frame of all strips and hands it over to them.
+     */
+    void drawFrame() {
+        long current = frame;
+        for (Target target : targets) {
+            target.draw(current, period);
+            try {
+                target.show();
+            } catch (RuntimeException e) {
+                logException("Rendering of animation failed: ", e);
+            }
+        }
+        frame = current + 1;
+    }
+
+    /**
+     * How the pixels of a layer are combined with the layers below
+     */
+    public enum BlendMode {
+        /**
+         * the layer covers the layers below completely
+         */
+        REPLACE,
+        /**
+         * the layer covers the layers below, except for its black pixels
+         */
+        NORMAL,
+        /**
+         * the color components are added, limited to their maximum
+         */
+        ADD,
+        /**
+         * the brighter value of each color component
+         */
+        MAX,
+        /**
+         * the color components are multiplied, a white layer keeps the colors below, a black one turns them off
+         */
+        MULTIPLY;
+
+        private void blend(int[] below, int[] layer) {
+            switch (this) {
+                case REPLACE -> System.arraycopy(layer, 0, below, 0, below.length);
+                case NORMAL -> {
+                    for (int i = 0; i < below.length; i++) {
+                        if (layer[i] != 0) {
+                            below[i] = layer[i];
+                        }
+                    }
+                }
+                default -> {
+                    for (int i = 0; i < below.length; i++) {
+                        below[i] = combine(below[i], layer[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Combines each color component of two colors.
+         */
+        private int combine(int below, int layer) {
+            int result = 0;
+            for (int shift = 0; shift <= 16; shift += 8) {
+                int a = below >> shift & 0xFF;
+                int b = layer >> shift & 0xFF;
+                int c = switch (this) {
+                    case ADD -> Math.min(a + b, 0xFF);
+                    case MAX -> Math.max(a, b);
+                    default -> a * b / 0xFF;
+                };
+                result |= c << shift;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A layer of a strip, showing an effect. Effect, blend mode and visibility can be changed at any time, the change
+     * takes effect with the next frame.
+     */
+    public static final class Layer {
+        private final int[] pixels;
+        private volatile LedEffect effect;
+        private volatile BlendMode blendMode;
+        private volatile boolean visible = true;
+
+        /**
+         * set when the effect was changed, the effect then starts with a black layer in the next frame
+         */
+        private volatile boolean restart = true;
+        private long startFrame;
+
+        private Layer(int numberOfPixels, LedEffect effect, BlendMode blendMode) {
+            this.pixels    = new int[numberOfPixels];
+            this.effect    = effect;
+            this.blendMode = blendMode;
+        }
+
+        public LedEffect getEffect() {
+            return effect;
+        }
+
+        /**
+         * @param effect the effect to show instead, starts from the beginning
+         */
+        public void setEffect(LedEffect effect) {
+            this.effect  = effect;
+            this.restart = true;
+        }
+
+        public BlendMode getBlendMode() {
+            return blendMode;
+        }
+
+        public void setBlendMode(BlendMode blendMode) {
+            this.blendMode = blendMode;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * @param visible false to hide the layer, its effect keeps running
+         */
+        public void setVisible(boolean visible) {
+            this.visible = visible;
+        }
+
+        private void draw(long frame, long period) {
+            if (restart) {
+                restart    = false;
+                startFrame = frame;
+                Arrays.fill(pixels, 0);
+            }
+            effect.draw(pixels, (frame - startFrame) * period);
+        }
+    }
+
+    /**
+     * A strip and its layers
+     */
+    private static final class Target {
+        private final PixelStrip strip;
+
+        /**
+         * position on the strip of each pixel of the layers, null if they are the same
+         */
+        private final int[] positions;
+        private final Layer[] layers;
+
+        /**
+         * the combination of all layers
+         */
+        private final int[] pixels;
+
+        private Target(PixelStrip strip, int[] positions, Layer[] layers) {
+            this.strip     = strip;
+            this.positions = positions;
+            this.layers    = layers;
+            this.pixels    = new int[strip.getNumPixels()];
+        }
+
+        private Target withLayer(Layer layer) {
+            Layer[] changed = Arrays.copyOf(layers, layers.length + 1);
+            changed[layers.length] = layer;
+            return new Target(strip, positions, changed);
+        }
+
+        private void draw(long frame, long period) {
+            Arrays.fill(pixels, 0);
+            for (Layer layer : layers) {
+                layer.draw(frame, period);
+                if (layer.visible) {
+                    layer.blendMode.blend(pixels, layer.pixels);
+                }
+            }
+        }
+
+        private void show() {
+            for (int i = 0; i < pixels.length; i++) {
+                strip.setPixelColor(positions == null ? i : positions[i], pixels[i]);
+            }
+            if (strip.isRendering()) {
+                strip.swap();
+            } else {
+                strip.render(Duration.ZERO);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.pi4j.catalog.components.LedStrip.LedColor;
+
+/**
+ * An animated effect on a layer of a {@link LedAnimator}, e.g. a rainbow running along the strip.
+ * <p>
+ * The animator calls {@link #draw(int[], long)} once per frame on its own thread. Effects must not allocate while
+ * drawing, everything they need is set up when they are created.
+ */
+@FunctionalInterface
+public interface LedEffect {
+
+    /**
+     * Draws the next frame of the effect.
+     *
+     * @param pixels  colors of the layer, as drawn in the previous frame (all black in the first frame)
+     * @param elapsed time since the effect was started, in nanoseconds
+     */
+    void draw(int[] pixels, long elapsed);
+
+    /**
+     * @param color color of all pixels
+     * @return all pixels in the same color
+     */
+    static LedEffect solid(int color) {
+        return (pixels, elapsed) -> Arrays.fill(pixels, color);
+    }
+
+    /**
+     * Colors the pixels one after the other, starting with the first one.
+     *
+     * @param color    color of the wipe
+     * @param duration time until all pixels are colored, the pixels not reached yet are black
+     * @return the effect
+     */
+    static LedEffect wipe(int color, Duration duration) {
+        long nanos = positive(duration);
+        return (pixels, elapsed) -> {
+            int reached = (int) Math.min(pixels.length, elapsed * pixels.length / nanos);
+            Arrays.fill(pixels, 0, reached, color);
+            Arrays.fill(pixels, reached, pixels.length, 0);
+        };
+    }
+
+    /**
+     * Groups of lit pixels running along the strip, like the lights of a theater marquee.
+     *
+     * @param color   color of the lit pixels
+     * @param length  number of lit pixels per group
+     * @param spacing distance from the start of a group to the start of the next one, greater than length
+     * @param step    time to move by one pixel
+     * @return the effect
+     */
+    static LedEffect chase(int color, int length, int spacing, Duration step) {
+        if (length < 1 || spacing <= length) {
+            throw new IllegalArgumentException("length must be positive and smaller than spacing");
+        }
+        long nanos = positive(step);
+        return (pixels, elapsed) -> {
+            int offset = (int) ((elapsed / nanos) % spacing);
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = (i - offset + spacing) % spacing < length ? color : 0;
+            }
+        };
+    }
+
+    /**
+     * All colors of {@link LedColor#wheel(int)} spread over the strip, rotating along it.
+     *
+     * @param cycle time for a full rotation of the colors
+     * @return the effect
+     */
+    static LedEffect rainbow(Duration cycle) {
+        long nanos = positive(cycle);
+        return (pixels, elapsed) -> {
+            int shift = (int) ((elapsed % nanos) * 256 / nanos);
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = LedColor.wheel((i * 256 / pixels.length + shift) & 0xFF);
+            }
+        };
+    }
+
+    /**
+     * Changes the color of all pixels smoothly from one color to another.
+     *
+     * @param from     color at the start
+     * @param to       color at the end, kept afterwards
+     * @param duration time of the transition
+     * @return the effect
+     */
+    static LedEffect fade(int from, int to, Duration duration) {
+        long nanos = positive(duration);
+        return (pixels, elapsed) -> {
+            int weight = (int) (Math.min(elapsed, nanos) * 256 / nanos);
+            int red   = mix(LedColor.getRedComponent(from), LedColor.getRedComponent(to), weight);
+            int green = mix(LedColor.getGreenComponent(from), LedColor.getGreenComponent(to), weight);
+            int blue  = mix(LedColor.getBlueComponent(from), LedColor.getBlueComponent(to), weight);
+            Arrays.fill(pixels, red << 16 | green << 8 | blue);
+        };
+    }
+
+    /**
+     * Pixels lighting up at random, fading out in the following frames.
+     *
+     * @param color   color of a new sparkle
+     * @param density fraction of the pixels lighting up per frame, range 0 - 1
+     * @param decay   fraction of the brightness each sparkle keeps per frame, range 0 (exclusive) - 1 (exclusive)
+     * @return the effect
+     */
+    static LedEffect sparkle(int color, double density, double decay) {
+        if (density < 0 || density > 1 || decay <= 0 || decay >= 1) {
+            throw new IllegalArgumentException("density must be in range 0 - 1, decay in range 0 - 1 (exclusive)");
+        }
+        SplittableRandom random = new SplittableRandom();
+        int keep = (int) (decay * 256);
+        return (pixels, elapsed) -> {
+            for (int i = 0; i < pixels.length; i++) {
+                int pixel = pixels[i];
+                if (pixel != 0) {
+                    pixels[i] = mix(0, pixel >> 16 & 0xFF, keep) << 16
+                              | mix(0, pixel >> 8 & 0xFF, keep) << 8
+                              | mix(0, pixel & 0xFF, keep);
+                }
+            }
+            int sparkles = (int) Math.round(density * pixels.length);
+            for (int i = 0; i < sparkles; i++) {
+                pixels[random.nextInt(pixels.length)] = color;
+            }
+        };
+    }
+
+    /**
+     * Weighted mean of two color components.
+     *
+     * @param weight weight of the second component, range 0 - 256
+     */
+    private static int mix(int first, int second, int weight) {
+        return (first * (256 - weight) + second * weight) >> 8;
+    }
+
+    private static long positive(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        return duration.toNanos();
+    }
+}
@@ -10,7 +10,8 @@ import com.pi4j.catalog.components.base.Component;
  * Creates an SPI Control for Neopixel for a LED matrix consisting of a single LED Strip.
  *
  * It's more or less a pure convenience class to get an API more appropriate to operate with a matrix.
- * All calls are delegated to the LED strip
+ * All calls are delegated to the LED strip. The position on the strip of each LED of the matrix is calculated once,
+ * according to the {@link Wiring} and {@link Orientation} of the panel.
  */
 public class LedMatrix extends Component {
 
@@ -22,18 +23,40 @@ public class LedMatrix extends Component {
     private final int rows;
     private final int columns;
 
+    /**
+     * position on the strip of each LED, row by row
+     */
+    private final int[] positions;
+
 
     /**
-     * Creates a new LEDMatrix with the defined rows and columns
+     * Creates a new LEDMatrix with the defined rows and columns, the strip runs in a zig-zag through the rows
      *
      * @param pi4j       Pi4J context
      * @param rows       How many rows of LED
      * @param columns    How many columns of LED
-     * @param brightness How bright the LEDs can be at max, Range 0 - 1
      */
     public LedMatrix(Context pi4j, int rows, int columns) {
+        this(pi4j, rows, columns, Wiring.SERPENTINE, Orientation.NORMAL, false);
+    }
+
+    /**
+     * Creates a new LEDMatrix with the defined rows and columns and the given layout of the panel
+     *
+     * @param pi4j        Pi4J context
+     * @param rows        How many rows of LED, as seen by the application
+     * @param columns     How many columns of LED, as seen by the application
+     * @param wiring      how the strip runs through the rows of the panel
+     * @param orientation how the panel is mounted
+     * @param flipped     true if the panel is mirrored horizontally, e.g. mounted from behind
+     */
+    public LedMatrix(Context pi4j, int rows, int columns, Wiring wiring, Orientation orientation, boolean flipped) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("Illegal Constructor");
+        }
         this.rows = rows;
         this.columns = columns;
+        this.positions = positionsOnStrip(rows, columns, wiring, orientation, flipped);
         this.ledStrip = new LedStrip(pi4j, rows*columns);
     }
 
@@ -52,7 +75,7 @@ public class LedMatrix extends Component {
      * @return the color of the specified LED on the strip
      */
     public int getPixelColor(int row, int column) {
-       return ledStrip.getPixelColor(positionOnStrip(row, column));
+       return ledStrip.getPixelColor(positions[row * columns + column]);
     }
 
 
@@ -64,7 +87,7 @@ public class LedMatrix extends Component {
      * @param color the color that is set
      */
     public void setPixelColor(int row, int column, int color) {
-       ledStrip.setPixelColor(positionOnStrip(row, column), color);
+       ledStrip.setPixelColor(positions[row * columns + column], color);
     }
 
 
@@ -74,14 +97,14 @@ public class LedMatrix extends Component {
      * @param color the color that is set
      */
     public void setRowColor(int row, int color) {
-        for(int i= (row * columns); i< (row * columns) + columns; i++){
-            ledStrip.setPixelColor(i, color);
+        for(int i = row * columns; i < (row + 1) * columns; i++){
+            ledStrip.setPixelColor(positions[i], color);
         }
     }
 
     public void setColumnColor(int column, int color){
         for(int i = 0; i<rows; i++){
-            ledStrip.setPixelColor(positionOnStrip(i, column), color);
+            ledStrip.setPixelColor(positions[i * columns + column], color);
         }
     }
 
@@ -110,7 +133,7 @@ public class LedMatrix extends Component {
 
 
     /**
-     * Set the brightness of all LED's
+     * Set the brightness of all LED's, the colors of the LEDs are kept
      *
      * @param brightness new max. brightness, range 0 - 1
      */
@@ -118,18 +141,85 @@ public class LedMatrix extends Component {
         ledStrip.setMaxBrightness(brightness);
     }
 
-    private int positionOnStrip(int row, int col) {
-        boolean even = row % 2 == 0;
-        int pos;
-        if(even){
-            pos =  (row * columns) + col;
-        }
-        else {
-            pos = (row * columns) + (columns - 1 - col);
+    /**
+     * @return the strip the matrix consists of
+     */
+    LedStrip getLedStrip() {
+        return ledStrip;
+    }
+
+    /**
+     * @return position on the strip of each LED, row by row
+     */
+    int[] getStripPositions() {
+        return positions;
+    }
+
+    /**
+     * Calculates the position on the strip of each LED of the matrix.
+     *
+     * @return position on the strip of each LED, row by row
+     */
+    static int[] positionsOnStrip(int rows, int columns, Wiring wiring, Orientation orientation,
+                                  boolean flipped) {
+        boolean turned = orientation == Orientation.ROTATED_90 || orientation == Orientation.ROTATED_270;
+        int panelColumns = turned ? rows : columns;
+        int[] positions = new int[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int col = flipped ? columns - 1 - column : column;
+                //row and column on the panel, as the strip runs through it
+                int panelRow;
+                int panelColumn;
+                switch (orientation) {
+                    case ROTATED_90 -> {
+                        panelRow    = col;
+                        panelColumn = rows - 1 - row;
+                    }
+                    case ROTATED_180 -> {
+                        panelRow    = rows - 1 - row;
+                        panelColumn = columns - 1 - col;
+                    }
+                    case ROTATED_270 -> {
+                        panelRow    = columns - 1 - col;
+                        panelColumn = row;
+                    }
+                    default -> {
+                        panelRow    = row;
+                        panelColumn = col;
+                    }
+                }
+                if (wiring == Wiring.SERPENTINE && panelRow % 2 == 1) {
+                    panelColumn = panelColumns - 1 - panelColumn;
+                }
+                positions[row * columns + column] = panelRow * panelColumns + panelColumn;
+            }
         }
-        System.out.printf("row %d, col %d, even %b, pos %d %n", row, col, even, pos);
+        return positions;
+    }
 
-        return pos;
+    /**
+     * How the strip runs through the rows of the panel. It always starts with the first LED of the first row.
+     */
+    public enum Wiring {
+        /**
+         * each row from the first to the last LED
+         */
+        PROGRESSIVE,
+        /**
+         * zig-zag: the even rows from the first to the last LED, the odd ones backwards
+         */
+        SERPENTINE
     }
 
+    /**
+     * How the panel is mounted, relative to the matrix seen by the application. The rotation is clockwise, a panel
+     * rotated by 90 or 270 degrees has as many rows as the matrix has columns.
+     */
+    public enum Orientation {
+        NORMAL,
+        ROTATED_90,
+        ROTATED_180,
+        ROTATED_270
+    }
 }
@@ -1,14 +1,14 @@
 package com.pi4j.catalog.components;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.time.Duration;
-import java.util.Arrays;
 
 import com.pi4j.context.Context;
 import com.pi4j.io.spi.Spi;
 import com.pi4j.io.spi.SpiBus;
 
-import com.pi4j.catalog.components.base.SpiDevice;
-
 /**
  * Creates an SPI Control for a Neopixel LED Strip
  * <p>
@@ -16,15 +16,15 @@ import com.pi4j.catalog.components.base.SpiDevice;
  * <p>
  * In PI4J-OS-Image both SPI and UART are enabled and SPI uses bus#1 (if UART is disabled switch to GPIO#10 (SPI0 MOSI) and SPI bus#0.
  */
-public class LedStrip extends SpiDevice {
+public class LedStrip extends PixelStrip {
     /**
      * Default Channel of the SPI Pins
      */
     private static final int DEFAULT_SPI_CHANNEL = 0;
     /**
-     * Default brightness
+     * Default SPI bus, SPI1 is available with UART enabled
      */
-    private static final float DEFAULT_BRIGHTNESS = 0.2f;
+    private static final SpiBus DEFAULT_SPI_BUS = SpiBus.BUS_1;
     /**
      * Default frequency of a WS2812 Neopixel Strip
      */
@@ -37,20 +37,15 @@ public class LedStrip extends SpiDevice {
     private static final byte Bit_0     = (byte) 0b11000000;// 192 in Decimal
     private static final byte Bit_1     = (byte) 0b11111000;// 248 in Decimal
     private static final byte Bit_Reset = (byte) 0b00000000;// 0 in Decimal
-    /**
-     * The amount of  LEDs
-     */
-    private final int numberOfLEDs;
 
     /**
-     * The array of all pixels
+     * writes the 8 SPI bytes of a color component at once
      */
-    private final int[] ledColors;
-
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
     /**
-     * Brightness value between 0 and 1
+     * How the bits of the colors are converted to SPI data
      */
-    private double maxBrightness;
+    private final Encoding encoding;
 
     /**
      * Creates a new simpleLed component with a custom BCM pin.
@@ -71,117 +66,68 @@ public class LedStrip extends SpiDevice {
      * @param channel which channel to use
      */
     public LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel) {
-        super(pi4j,
-              Spi.newConfigBuilder(pi4j)
-                        .id("SPI-" + channel)
-                        .bus(SpiBus.BUS_1)
-                        .name("LED Strip")
-                        .address(channel)
-                        .baud(8 * DEFAULT_FREQUENCY_PI4) //bit-banging from Bit to SPI-Byte
-                        .build());
-        if (numberOfLEDs < 1 || maxBrightness < 0 || maxBrightness > 1 || channel < 0 || channel > 1) {
-            throw new IllegalArgumentException("Illegal Constructor");
-        }
-        this.numberOfLEDs = numberOfLEDs;
-        ledColors = new int[numberOfLEDs];
-
-        setMaxBrightness(0.01);
-        blink(LedColor.ORANGE, Duration.ofMillis(200), 2);
-
-        setMaxBrightness(maxBrightness);
-
-        logDebug("LED strip with %d LEDs", numberOfLEDs);
-    }
-
-    public void blink(int color, Duration pulse, int times){
-        alternate(color, 0, pulse, times);
-    }
-
-    public void alternate(int firstColor, int secondColor, Duration pulse, int times){
-        for(int i=0; i<times; i++){
-            setStripColor(firstColor);
-            render(pulse);
-            setStripColor(secondColor);
-            render(pulse);
-        }
+        this(pi4j, numberOfLEDs, maxBrightness, channel, Encoding.BYTE_PER_BIT);
     }
 
     /**
-     * Setting all LEDS off and closing the strip
-     */
-    @Override
-    public void reset() {
-        allOff();
-        render(Duration.ZERO);
-        super.reset();
-    }
-
-    /**
-     * function to get the amount of the leds on the strip
-     *
-     * @return int with the amount of pixels
-     */
-    public int getNumPixels() {
-        return numberOfLEDs;
-    }
-
-    /**
-     * Function to get the color (as an int) of a specified led.
+     * Creates a new LedStrip component with the given encoding of the WS2812 bits.
      *
-     * @param pixel which position on the LED strip, range 0..numLEDS-1
-     * @return the color of the specified led on the strip
+     * @param pi4j Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param channel which channel to use
+     * @param encoding how the bits are converted to SPI data
      */
-    public int getPixelColor(int pixel) {
-        return ledColors[pixel];
+    public LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel, Encoding encoding) {
+        this(pi4j, numberOfLEDs, maxBrightness, DEFAULT_SPI_BUS, channel, encoding);
     }
 
     /**
-     * Setting the color of a specified led on the strip.
+     * Creates a new LedStrip component on the given SPI bus.
+     * <p>
+     * The data line of the strip is the MOSI pin of the bus. WS2812 LEDs ignore the chip select, so strips showing
+     * different content need different buses. On a Pi4, buses 3 - 6 are available besides 0 and 1 when enabled in
+     * the device tree (e.g. {@code dtoverlay=spi3-1cs} in {@code /boot/config.txt}).
      *
-     * @param pixel which position on the strip, range 0 - numLEDS-1
-     * @param color the color that is set
+     * @param pi4j Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param bus which SPI bus to use
+     * @param channel which channel (chip select) of the bus to use, range 0 - 2
+     * @param encoding how the bits are converted to SPI data
      */
-    public void setPixelColor(int pixel, int color) {
-        ledColors[pixel] = LedColor.scaleColorToBrightness(color, maxBrightness);
-    }
+    public LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, SpiBus bus, int channel, Encoding encoding) {
+        super(pi4j,
+              Spi.newConfigBuilder(pi4j)
+                        .id("SPI-" + bus.getBus() + "-" + channel)
+                        .bus(bus)
+                        .name("LED Strip")
+                        .address(channel)
+                        .baud(encoding.baud) //bit-banging from Bit to SPI-Bits
+                        .build(),
+              //three color components per LED, plus a reset byte at the beginning and the end
+              numberOfLEDs, 3 * encoding.bytesPerComponent * numberOfLEDs + 2);
+        if (maxBrightness < 0 || maxBrightness > 1 || channel < 0 || channel > 2) {
+            throw new IllegalArgumentException("Illegal Constructor");
+        }
+        this.encoding = encoding;
+        // While bit-banging, the first and last byte have to be a reset: they are never written and stay Bit_Reset
 
-    /**
-     * Setting all leds to the same color
-     *
-     * @param color the color that is set
-     */
-    public void setStripColor(int color) {
-        int dimmedColor = LedColor.scaleColorToBrightness(color, maxBrightness);
-        Arrays.fill(ledColors, dimmedColor);
-    }
+        setMaxBrightness(0.01);
+        blink(LedColor.ORANGE, Duration.ofMillis(200), 2);
 
-    /**
-     * setting all LEDs off
-     */
-    public void allOff() {
-        Arrays.fill(ledColors, 0);
-    }
+        setMaxBrightness(maxBrightness);
 
-    /**
-     * @return the current max brightness
-     */
-    public double getMaxBrightness() {
-        return maxBrightness;
+        logDebug("LED strip with %d LEDs", numberOfLEDs);
     }
 
     /**
-     * Set the brightness of all LEDs
-     *
-     * @param maxBrightness new max. brightness, range 0 - 1
+     * @return how the bits of the colors are converted to SPI data
      */
-    public void setMaxBrightness(double maxBrightness) {
-        if (maxBrightness < 0 || maxBrightness > 1) {
-            throw new IllegalArgumentException("Illegal Brightness Value. Must be between 0 and 1");
-        }
-        this.maxBrightness = maxBrightness;
+    public Encoding getEncoding() {
+        return encoding;
     }
 
-
     /**
      * Pixels are sent as follows: - The first transmitted pixel is the pixel
      * closest to the transmitter. - The most significant bit is always sent first.
@@ -190,49 +136,100 @@ public class LedStrip extends SpiDevice {
      * \_____________________________________________________________________/ |
      * _________________... | / __________________... | / / ___________________... |
      * / / / GRB,GRB,GRB,GRB,...
+     * <p>
+     * Each color component is converted with a single lookup in the table of the {@link Encoding}.
      */
-    public void render(Duration idlePeriod) {
+    @Override
+    protected void encodePixel(byte[] frame, int pixel, int red, int green, int blue, int level) {
         //beginning at 1, because the first byte is a reset
-        int counter = 1;
-        /*
-         * The raw-data of all pixels, each int of LEDs is split into bits and converted to bytes to write
+        int counter = 1 + pixel * encoding.getBytesPerLed();
+        // Calculating GRB from RGB
+        counter = encoding.encode(frame, counter, green);
+        counter = encoding.encode(frame, counter, red);
+        encoding.encode(frame, counter, blue);
+    }
+
+    /**
+     * How the bits of a WS2812 color are converted to SPI data. The SPI runs at a multiple of the WS2812 bit rate,
+     * each WS2812 bit is a short (0) or a long (1) high pulse followed by low.
+     * <p>
+     * All 256 values of a color component are encoded in advance, encoding a pixel takes three table lookups.
+     */
+    public enum Encoding {
+        /**
+         * One SPI byte per bit, 24 bytes per LED. Tolerates an imprecise SPI clock, e.g. on a Pi4 with variable
+         * core frequency.
          */
-       final int numberOfBitsForLeds = 3 * 8 * numberOfLEDs;
-       final byte[] pixelRaw = new byte[numberOfBitsForLeds + 2];
-        for (int i = 0; i < numberOfLEDs; i++) {
-            // Calculating GRB from RGB
-            for (int j = 15; j >= 8; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
-                }
-            }
-            for (int j = 23; j >= 16; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
-                }
-            }
-            for (int j = 7; j >= 0; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
+        BYTE_PER_BIT(8 * DEFAULT_FREQUENCY_PI4, Long.BYTES),
+        /**
+         * Three SPI bits per bit ({@code 100} or {@code 110}), 9 bytes per LED. Needs 2.67 times less SPI data, but
+         * relies on an exact SPI clock of 2.4 MHz. On a Pi4 fix the core frequency, e.g. with {@code core_freq=500}
+         * and {@code core_freq_min=500} in {@code /boot/config.txt}.
+         */
+        THREE_BITS_PER_BIT(3 * DEFAULT_FREQUENCY_PI3, 3);
+
+        /**
+         * SPI baud rate
+         */
+        private final int baud;
+
+        /**
+         * number of SPI bytes needed for the 8 bits of a color component
+         */
+        private final int bytesPerComponent;
+
+        /**
+         * SPI bits of each value of a color component, right aligned
+         */
+        private final long[] table = new long[256];
+
+        Encoding(int baud, int bytesPerComponent) {
+            this.baud = baud;
+            this.bytesPerComponent = bytesPerComponent;
+            for (int value = 0; value < table.length; value++) {
+                long bits = 0;
+                for (int j = 7; j >= 0; j--) {
+                    boolean one = ((value >> j) & 1) == 1;
+                    if (bytesPerComponent == Long.BYTES) {
+                        bits = bits << 8 | ((one ? Bit_1 : Bit_0) & 0xFF);
+                    } else {
+                        bits = bits << 3 | (one ? 0b110 : 0b100);
+                    }
                 }
+                table[value] = bits;
             }
         }
 
-        // While bit-banging, the first and last byte have to be a reset
-        pixelRaw[0] = Bit_Reset;
-        pixelRaw[pixelRaw.length - 1] = Bit_Reset;
-
-        sendToSerialDevice(pixelRaw);
+        /**
+         * @return SPI baud rate
+         */
+        public int getBaud() {
+            return baud;
+        }
 
-        logDebug("Finished rendering of LED strip");
+        /**
+         * @return number of SPI bytes written for each LED
+         */
+        public int getBytesPerLed() {
+            return 3 * bytesPerComponent;
+        }
 
-        delay(idlePeriod);
+        /**
+         * Writes the SPI data of a color component to the buffer.
+         *
+         * @return offset following the written data
+         */
+        private int encode(byte[] buffer, int offset, int value) {
+            long bits = table[value];
+            if (bytesPerComponent == Long.BYTES) {
+                LONG_VIEW.set(buffer, offset, bits);
+            } else {
+                buffer[offset]     = (byte) (bits >> 16);
+                buffer[offset + 1] = (byte) (bits >> 8);
+                buffer[offset + 2] = (byte) bits;
+            }
+            return offset + bytesPerComponent;
+        }
     }
 
     /**
@@ -0,0 +1,185 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.pi4j.io.spi.SpiBus;
+
+import com.pi4j.catalog.components.base.Component;
+
+/**
+ * Renders several LED strips ({@link PixelStrip}) on different SPI buses at the same time.
+ * <p>
+ * Rendering a strip is encoding its pixels and writing the SPI data, which takes 30 - 48 µs per LED on the wire.
+ * Rendered one after the other, two long strips take twice as long per frame. The controller has a thread for each
+ * SPI bus: all of them encode and write their strips in parallel, the frame time is that of the longest strip.
+ * Strips on the same bus are rendered one after the other by the thread of the bus, the bus can't transfer
+ * anything else meanwhile anyway.
+ * <p>
+ * Drawing works as usual with the pixel setters of each strip, only {@link #render(Duration)} of the controller
+ * replaces the render of the single strips.
+ */
+public class LedStripController extends Component {
+    private final List<PixelStrip> strips;
+    private final Output[] outputs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition frameStarted = lock.newCondition();
+    private final Condition frameDone = lock.newCondition();
+
+    // all guarded by lock
+    private long frame;
+    private int pending;
+    private boolean stopped;
+
+    /**
+     * Creates a controller rendering the given strips.
+     *
+     * @param strips the strips, in asynchronous mode they can't be rendered by the controller
+     */
+    public LedStripController(PixelStrip... strips) {
+        if (strips.length == 0) {
+            throw new IllegalArgumentException("at least one strip is needed");
+        }
+        this.strips = List.of(strips);
+
+        Map<SpiBus, List<PixelStrip>> byBus = new LinkedHashMap<>();
+        for (PixelStrip strip : strips) {
+            byBus.computeIfAbsent(strip.getBus(), bus -> new ArrayList<>()).add(strip);
+        }
+        outputs = new Output[byBus.size()];
+        int i = 0;
+        for (Map.Entry<SpiBus, List<PixelStrip>> entry : byBus.entrySet()) {
+            outputs[i++] = new Output(entry.getKey(), entry.getValue().toArray(new PixelStrip[0]));
+        }
+        for (Output output : outputs) {
+            output.thread.start();
+        }
+
+        logDebug("LED strip controller with %d strips on %d buses", strips.length, outputs.length);
+    }
+
+    /**
+     * @return the strips rendered by the controller
+     */
+    public List<PixelStrip> getStrips() {
+        return strips;
+    }
+
+    /**
+     * Renders all strips in parallel and waits until they are sent.
+     *
+     * @param idlePeriod time to wait after sending
+     */
+    public void render(Duration idlePeriod) {
+        for (PixelStrip strip : strips) {
+            if (strip.isRendering()) {
+                throw new IllegalStateException("Asynchronous rendering of a strip active");
+            }
+        }
+        lock.lock();
+        try {
+            if (stopped) {
+                throw new IllegalStateException("LED strip controller is reset");
+            }
+            frame++;
+            pending = outputs.length;
+            frameStarted.signalAll();
+            while (pending > 0) {
+                frameDone.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        delay(idlePeriod);
+    }
+
+    /**
+     * Stops the threads of the controller and resets all strips.
+     */
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            stopped = true;
+            frameStarted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Output output : outputs) {
+            try {
+                output.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (PixelStrip strip : strips) {
+            strip.reset();
+        }
+        super.reset();
+    }
+
+    /**
+     * The strips of one SPI bus and the thread rendering them
+     */
+    private final class Output {
+        private final PixelStrip[] strips;
+        private final Thread thread;
+
+        /**
+         * last frame rendered, only used by the thread of the output
+         */
+        private long renderedFrame;
+
+        private Output(SpiBus bus, PixelStrip[] strips) {
+            this.strips = strips;
+            thread = new Thread(this::renderFrames, "LedStripController-" + bus.getBus());
+            thread.setDaemon(true);
+        }
+
+        private void renderFrames() {
+            while (awaitFrame()) {
+                for (PixelStrip strip : strips) {
+                    try {
+                        strip.encodeFrame();
+                        strip.sendFrame();
+                    } catch (RuntimeException e) {
+                        logException("Rendering of LED strip failed: ", e);
+                    }
+                }
+                lock.lock();
+                try {
+                    if (--pending == 0) {
+                        frameDone.signalAll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Waits for the next frame.
+         *
+         * @return false if the controller was reset
+         */
+        private boolean awaitFrame() {
+            lock.lock();
+            try {
+                while (renderedFrame == frame && !stopped) {
+                    frameStarted.awaitUninterruptibly();
+                }
+                renderedFrame = frame;
+                return !stopped;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
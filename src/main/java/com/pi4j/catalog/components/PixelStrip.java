@@ -0,0 +1,674 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.pi4j.context.Context;
+import com.pi4j.io.spi.SpiBus;
+import com.pi4j.io.spi.SpiConfig;
+
+import com.pi4j.catalog.components.base.SpiDevice;
+
+/**
+ * Base of the LED strips driven by SPI: the colors of the pixels, brightness and gamma correction, rendering and the
+ * asynchronous mode. The subclasses convert the colors to the SPI data of their LEDs.
+ * <p>
+ * The colors are kept as set. When rendering, only the pixels changed since the last frame are converted again:
+ * brightness and gamma are applied to each color component with a table lookup, then the LED type specific
+ * encoding writes the pixel into the frame buffer. Rendering doesn't allocate, the same buffer is written for each
+ * frame.
+ */
+public abstract class PixelStrip extends SpiDevice {
+    /**
+     * Default brightness
+     */
+    static final float DEFAULT_BRIGHTNESS = 0.2f;
+    /**
+     * Default gamma of the color components. The LEDs are linear, the eye isn't: without correction, dark colors
+     * look much too bright and fades jump at the dark end.
+     */
+    private static final double DEFAULT_GAMMA = 2.2;
+    /**
+     * The amount of  LEDs
+     */
+    private final int numberOfLEDs;
+
+    /**
+     * The array of all pixels
+     */
+    private final int[] ledColors;
+
+    /**
+     * SPI bus and chip select the strip is connected to
+     */
+    private final SpiBus bus;
+    private final int channel;
+
+    /**
+     * Pixels changed since the last render (or the last swap in asynchronous mode)
+     */
+    private final DirtyPixels dirty;
+
+    /**
+     * Front buffer of the asynchronous mode: the colors of the last swapped frame and the pixels changed since it
+     * was rendered, both guarded by frontLock
+     */
+    private final int[] frontColors;
+    private final DirtyPixels frontDirty;
+    private final ReentrantLock frontLock = new ReentrantLock();
+    private boolean frameReady;
+
+    /**
+     * render thread of the asynchronous mode, null in synchronous mode
+     */
+    private volatile Thread renderThread;
+
+    // frame statistics of the asynchronous mode, guarded by frontLock
+    private long renderedFrames;
+    private long droppedFrames;
+    private long lateFrames;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+
+    /**
+     * number of pixels encoded by the last render
+     */
+    private int encodedPixels;
+
+    /**
+     * The raw-data of all pixels as written to SPI. Allocated once and reused for each frame.
+     */
+    private final byte[] pixelRaw;
+
+    /**
+     * Brightness value between 0 and 1
+     */
+    private double maxBrightness;
+
+    /**
+     * Gamma corrected value of each value of the red, green and blue component at full brightness, rebuilt when the
+     * gamma changes
+     */
+    private final double[] redCurve   = new double[256];
+    private final double[] greenCurve = new double[256];
+    private final double[] blueCurve  = new double[256];
+
+    /**
+     * Output values of the color components used by render, rebuilt when the brightness or gamma changes. In
+     * asynchronous mode they are handed over to the render thread with the next swap.
+     */
+    private final ColorTables tables = new ColorTables();
+    private boolean tablesChanged;
+
+    /**
+     * Output values of the color components used by the render thread, guarded by frontLock
+     */
+    private final ColorTables frontTables = new ColorTables();
+
+    /**
+     * Creates the pixels of a strip, the subclass is responsible to set the max. brightness.
+     *
+     * @param pi4j Pi4J context
+     * @param config configuration of the SPI
+     * @param numberOfLEDs How many LEDs are on this strand
+     * @param frameSize number of bytes sent to the strip per frame
+     */
+    protected PixelStrip(Context pi4j, SpiConfig config, int numberOfLEDs, int frameSize) {
+        super(pi4j, config);
+        if (numberOfLEDs < 1) {
+            throw new IllegalArgumentException("Illegal Constructor");
+        }
+        this.numberOfLEDs = numberOfLEDs;
+        this.bus = config.bus();
+        this.channel = config.address();
+        ledColors = new int[numberOfLEDs];
+        pixelRaw = new byte[frameSize];
+        dirty = new DirtyPixels(numberOfLEDs);
+        frontColors = new int[numberOfLEDs];
+        frontDirty = new DirtyPixels(numberOfLEDs);
+        buildCurve(redCurve, DEFAULT_GAMMA);
+        buildCurve(greenCurve, DEFAULT_GAMMA);
+        buildCurve(blueCurve, DEFAULT_GAMMA);
+    }
+
+    public void blink(int color, Duration pulse, int times){
+        alternate(color, 0, pulse, times);
+    }
+
+    public void alternate(int firstColor, int secondColor, Duration pulse, int times){
+        for(int i=0; i<times; i++){
+            setStripColor(firstColor);
+            render(pulse);
+            setStripColor(secondColor);
+            render(pulse);
+        }
+    }
+
+    /**
+     * Setting all LEDS off and closing the strip
+     */
+    @Override
+    public void reset() {
+        stopRendering();
+        allOff();
+        render(Duration.ZERO);
+        super.reset();
+    }
+
+    /**
+     * @return the SPI bus the strip is connected to
+     */
+    public SpiBus getBus() {
+        return bus;
+    }
+
+    /**
+     * @return the channel (chip select) of the SPI bus
+     */
+    public int getChannel() {
+        return channel;
+    }
+
+    /**
+     * function to get the amount of the leds on the strip
+     *
+     * @return int with the amount of pixels
+     */
+    public int getNumPixels() {
+        return numberOfLEDs;
+    }
+
+    /**
+     * Function to get the color (as an int) of a specified led.
+     *
+     * @param pixel which position on the LED strip, range 0..numLEDS-1
+     * @return the color of the specified led on the strip, as set. Brightness and gamma are applied when rendering,
+     * they don't change the colors of the pixels.
+     */
+    public int getPixelColor(int pixel) {
+        return ledColors[pixel];
+    }
+
+    /**
+     * Setting the color of a specified led on the strip.
+     *
+     * @param pixel which position on the strip, range 0 - numLEDS-1
+     * @param color the color that is set
+     */
+    public void setPixelColor(int pixel, int color) {
+        if (ledColors[pixel] != color) {
+            ledColors[pixel] = color;
+            dirty.mark(pixel);
+        }
+    }
+
+    /**
+     * Setting all leds to the same color
+     *
+     * @param color the color that is set
+     */
+    public void setStripColor(int color) {
+        Arrays.fill(ledColors, color);
+        dirty.markAll();
+    }
+
+    /**
+     * setting all LEDs off
+     */
+    public void allOff() {
+        Arrays.fill(ledColors, 0);
+        dirty.markAll();
+    }
+
+    /**
+     * @return the current max brightness
+     */
+    public double getMaxBrightness() {
+        return maxBrightness;
+    }
+
+    /**
+     * Set the brightness of all LEDs, takes effect with the next render (or swap in asynchronous mode). The colors of
+     * the pixels are kept, there's no need to set them again: fading the whole strip just means changing the
+     * brightness for each frame.
+     *
+     * @param maxBrightness new max. brightness, range 0 - 1
+     */
+    public void setMaxBrightness(double maxBrightness) {
+        if (maxBrightness < 0 || maxBrightness > 1) {
+            throw new IllegalArgumentException("Illegal Brightness Value. Must be between 0 and 1");
+        }
+        this.maxBrightness = maxBrightness;
+        buildTables();
+    }
+
+    /**
+     * Set the gamma correction of all color components, takes effect with the next render
+     *
+     * @param gamma gamma of the LEDs, 1 for linear output, default is {@value #DEFAULT_GAMMA}
+     */
+    public void setGamma(double gamma) {
+        setGamma(gamma, gamma, gamma);
+    }
+
+    /**
+     * Set the gamma correction of each color component, takes effect with the next render
+     *
+     * @param red   gamma of the red LEDs, 1 for linear output
+     * @param green gamma of the green LEDs, 1 for linear output
+     * @param blue  gamma of the blue LEDs, 1 for linear output
+     */
+    public void setGamma(double red, double green, double blue) {
+        if (red <= 0 || green <= 0 || blue <= 0) {
+            throw new IllegalArgumentException("Illegal Gamma Value. Must be positive");
+        }
+        buildCurve(redCurve, red);
+        buildCurve(greenCurve, green);
+        buildCurve(blueCurve, blue);
+        buildTables();
+    }
+
+    private static void buildCurve(double[] curve, double gamma) {
+        for (int value = 0; value < curve.length; value++) {
+            curve[value] = Math.pow(value / 255.0, gamma) * 255;
+        }
+    }
+
+    /**
+     * Rebuilds the tables of the color components from the curves, all pixels have to be encoded again.
+     */
+    private void buildTables() {
+        //as much of the brightness as possible is set with the brightness control of the LEDs, if they have one
+        int steps = getBrightnessSteps();
+        int level = (int) Math.ceil(maxBrightness * steps);
+        double scale = level > 0 ? maxBrightness * steps / level : maxBrightness;
+        for (int value = 0; value < 256; value++) {
+            tables.red[value]   = (int) Math.round(redCurve[value] * scale);
+            tables.green[value] = (int) Math.round(greenCurve[value] * scale);
+            tables.blue[value]  = (int) Math.round(blueCurve[value] * scale);
+        }
+        tables.level = level;
+        tablesChanged = true;
+    }
+
+    /**
+     * Number of steps of a brightness control built into the LEDs, 0 if they don't have one (the default). The max.
+     * brightness is then set with this control as far as possible, the color components keep their full resolution.
+     *
+     * @return number of steps of the brightness control
+     */
+    protected int getBrightnessSteps() {
+        return 0;
+    }
+
+
+    /**
+     * Sends the pixels to the strip and waits for the given time. Only the pixels changed since the last render are
+     * encoded again.
+     * <p>
+     * Not possible in asynchronous mode, use {@link #swap()} instead.
+     */
+    public void render(Duration idlePeriod) {
+        if (renderThread != null) {
+            throw new IllegalStateException("Asynchronous rendering active, use swap()");
+        }
+        encodeFrame();
+        sendFrame();
+
+        delay(idlePeriod);
+    }
+
+    /**
+     * Encodes the pixels changed since the last frame, the first step of {@link #render(Duration)}.
+     */
+    void encodeFrame() {
+        if (tablesChanged) {
+            dirty.markAll();
+            tablesChanged = false;
+        }
+        encode(ledColors, tables, dirty);
+    }
+
+    /**
+     * Sends the encoded frame to the strip, the second step of {@link #render(Duration)}.
+     */
+    void sendFrame() {
+        sendToSerialDevice(pixelRaw);
+    }
+
+    /**
+     * Starts the asynchronous mode: a render thread sends the frames to the strip with the given frame rate, the
+     * caller never waits for the SPI.
+     * <p>
+     * The pixel setters draw into a back buffer, {@link #swap()} hands the finished frame over to the render thread.
+     * The render thread sends each swapped frame once, at the next tick of its fixed frame rate. A frame swapped
+     * before the previous one was sent replaces it and is counted as dropped.
+     *
+     * @param fps frames per second
+     */
+    public void startRendering(int fps) {
+        if (fps < 1) {
+            throw new IllegalArgumentException("fps must be positive");
+        }
+        if (renderThread != null) {
+            throw new IllegalStateException("Asynchronous rendering already active");
+        }
+        //the render thread starts with the current colors, all of them need to be encoded
+        frontLock.lock();
+        try {
+            System.arraycopy(ledColors, 0, frontColors, 0, numberOfLEDs);
+            frontTables.copyFrom(tables);
+            frontDirty.markAll();
+            dirty.clear();
+            tablesChanged = false;
+            frameReady = false;
+        } finally {
+            frontLock.unlock();
+        }
+
+        long period = 1_000_000_000L / fps;
+        Thread thread = new Thread(() -> renderFrames(period), "LedStrip");
+        thread.setDaemon(true);
+        renderThread = thread;
+        thread.start();
+
+        logDebug("Rendering with %d fps started", fps);
+    }
+
+    /**
+     * @return true if the asynchronous mode is active
+     */
+    public boolean isRendering() {
+        return renderThread != null;
+    }
+
+    /**
+     * Stops the asynchronous mode, a frame swapped but not yet sent is discarded. Waits for the render thread to
+     * finish.
+     */
+    public void stopRendering() {
+        Thread thread = renderThread;
+        if (thread == null) {
+            return;
+        }
+        renderThread = null;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        //pixels changed since the last render must be encoded again
+        dirty.markAll();
+
+        logDebug("Rendering stopped");
+    }
+
+    /**
+     * Hands the frame drawn since the last swap over to the render thread of the asynchronous mode. Returns
+     * immediately, only the changed pixels are copied. A changed brightness or gamma is handed over with the frame.
+     */
+    public void swap() {
+        if (renderThread == null) {
+            throw new IllegalStateException("Asynchronous rendering not active, use render()");
+        }
+        frontLock.lock();
+        try {
+            if (dirty.isAll()) {
+                System.arraycopy(ledColors, 0, frontColors, 0, numberOfLEDs);
+                frontDirty.markAll();
+            } else {
+                for (int i = 0; i < dirty.count; i++) {
+                    int pixel = dirty.pixels[i];
+                    frontColors[pixel] = ledColors[pixel];
+                    frontDirty.mark(pixel);
+                }
+            }
+            dirty.clear();
+            if (tablesChanged) {
+                frontTables.copyFrom(tables);
+                frontDirty.markAll();
+                tablesChanged = false;
+            }
+            if (frameReady) {
+                droppedFrames++;
+            }
+            frameReady = true;
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * Loop of the render thread: each period, the last swapped frame is encoded and sent.
+     */
+    private void renderFrames(long period) {
+        long next = System.nanoTime();
+        while (renderThread == Thread.currentThread()) {
+            next += period;
+            long start = System.nanoTime();
+            boolean send = false;
+            frontLock.lock();
+            try {
+                if (frameReady) {
+                    encode(frontColors, frontTables, frontDirty);
+                    frameReady = false;
+                    send = true;
+                }
+            } finally {
+                frontLock.unlock();
+            }
+            if (send) {
+                try {
+                    sendToSerialDevice(pixelRaw);
+                } catch (RuntimeException e) {
+                    logException("Rendering of LED strip failed: ", e);
+                }
+                recordFrame(System.nanoTime() - start, period);
+            }
+            if (System.nanoTime() > next) {
+                //too slow, skip the missed ticks instead of catching up
+                next = System.nanoTime();
+            }
+            delayUntil(next);
+        }
+    }
+
+    private void recordFrame(long frameNanos, long period) {
+        frontLock.lock();
+        try {
+            renderedFrames++;
+            totalFrameNanos += frameNanos;
+            maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+            if (frameNanos > period) {
+                lateFrames++;
+            }
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of frames sent by the render thread
+     */
+    public long getRenderedFrames() {
+        frontLock.lock();
+        try {
+            return renderedFrames;
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of swapped frames replaced by a newer one before they were sent
+     */
+    public long getDroppedFrames() {
+        frontLock.lock();
+        try {
+            return droppedFrames;
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of frames whose encoding and sending took longer than the period of the frame rate
+     */
+    public long getLateFrames() {
+        frontLock.lock();
+        try {
+            return lateFrames;
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * @return average time to encode and send a frame
+     */
+    public Duration getAverageFrameTime() {
+        frontLock.lock();
+        try {
+            return Duration.ofNanos(renderedFrames > 0 ? totalFrameNanos / renderedFrames : 0);
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * @return longest time to encode and send a frame
+     */
+    public Duration getMaxFrameTime() {
+        frontLock.lock();
+        try {
+            return Duration.ofNanos(maxFrameNanos);
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    public void resetStatistics() {
+        frontLock.lock();
+        try {
+            renderedFrames  = 0;
+            droppedFrames   = 0;
+            lateFrames      = 0;
+            totalFrameNanos = 0;
+            maxFrameNanos   = 0;
+        } finally {
+            frontLock.unlock();
+        }
+    }
+
+    /**
+     * Encodes the changed pixels into the SPI buffer.
+     *
+     * @param colors colors of all pixels
+     * @param tables output values of the color components
+     * @param changed pixels to encode, cleared afterwards
+     */
+    private void encode(int[] colors, ColorTables tables, DirtyPixels changed) {
+        if (changed.isAll()) {
+            for (int i = 0; i < numberOfLEDs; i++) {
+                encodePixel(colors, tables, i);
+            }
+            encodedPixels = numberOfLEDs;
+        } else {
+            for (int i = 0; i < changed.count; i++) {
+                encodePixel(colors, tables, changed.pixels[i]);
+            }
+            encodedPixels = changed.count;
+        }
+        changed.clear();
+    }
+
+    private void encodePixel(int[] colors, ColorTables tables, int pixel) {
+        int color = colors[pixel];
+        encodePixel(pixelRaw, pixel, tables.red[(color >> 16) & 0xFF], tables.green[(color >> 8) & 0xFF],
+                    tables.blue[color & 0xFF], tables.level);
+    }
+
+    /**
+     * Writes the SPI data of a pixel into the frame, brightness and gamma are already applied to the color.
+     *
+     * @param frame the SPI data sent to the strip
+     * @param pixel position of the pixel on the strip
+     * @param red   red component, range 0 - 255
+     * @param green green component, range 0 - 255
+     * @param blue  blue component, range 0 - 255
+     * @param level level of the brightness control of the LEDs, see {@link #getBrightnessSteps()}
+     */
+    protected abstract void encodePixel(byte[] frame, int pixel, int red, int green, int blue, int level);
+
+    /**
+     * @return number of pixels encoded by the last render
+     */
+    int getEncodedPixels() {
+        return encodedPixels;
+    }
+
+    /**
+     * Output value for each value of the red, green and blue component, gamma corrected and scaled to the max.
+     * brightness, and the level of the brightness control of the LEDs
+     */
+    private static final class ColorTables {
+        private final int[] red   = new int[256];
+        private final int[] green = new int[256];
+        private final int[] blue  = new int[256];
+        private int level;
+
+        private void copyFrom(ColorTables other) {
+            System.arraycopy(other.red, 0, red, 0, red.length);
+            System.arraycopy(other.green, 0, green, 0, green.length);
+            System.arraycopy(other.blue, 0, blue, 0, blue.length);
+            level = other.level;
+        }
+    }
+
+    /**
+     * Pixels changed since they were encoded the last time, in the order of their change, and a flag for each pixel
+     * if it's in the list. If too many pixels change, the whole strip is encoded instead.
+     */
+    private static final class DirtyPixels {
+        private final int[] pixels;
+        private final boolean[] flags;
+        private int count;
+        private boolean all = true;
+
+        private DirtyPixels(int numberOfLEDs) {
+            //encoding a list of single pixels pays off for small changes only
+            pixels = new int[numberOfLEDs / 4 + 1];
+            flags  = new boolean[numberOfLEDs];
+        }
+
+        private void mark(int pixel) {
+            if (all || flags[pixel]) {
+                return;
+            }
+            if (count == pixels.length) {
+                all = true;
+                return;
+            }
+            flags[pixel] = true;
+            pixels[count++] = pixel;
+        }
+
+        private void markAll() {
+            all = true;
+        }
+
+        private boolean isAll() {
+            return all;
+        }
+
+        private void clear() {
+            for (int i = 0; i < count; i++) {
+                flags[pixels[i]] = false;
+            }
+            count = 0;
+            all   = false;
+        }
+    }
+}
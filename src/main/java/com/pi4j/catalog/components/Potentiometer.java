@@ -1,8 +1,17 @@
 package com.pi4j.catalog.components;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
 import java.util.function.Consumer;
 
 import com.pi4j.catalog.components.base.Component;
+import com.pi4j.catalog.components.helpers.SampleHistory;
+import com.pi4j.catalog.components.helpers.SignalFilter;
 
 /**
  * A potentiometer is an analog device and needs to use an analog-digital convertor (ADC) to be attached to RaspPi.
@@ -16,12 +25,24 @@ import com.pi4j.catalog.components.base.Component;
  *     </li>
  *     <li>Raw value is the measured voltage</li>
  * </ul>
+ * Without calibration, the voltage range of the potentiometer is estimated from the values measured so far, so the
+ * normalized values shift until both end positions have been reached. Use {@link #calibrate(Duration, Duration)} once
+ * and store the result with {@link #saveCalibration(Path)}, then load it at startup.
  */
 public class Potentiometer extends Component {
     public enum Range {
         ZERO_TO_ONE, MINUS_ONE_TO_ONE
     }
 
+    /**
+     * smallest voltage range accepted by calibration
+     */
+    private static final double MIN_CALIBRATION_RANGE = 0.1;
+
+    private static final String KEY_MIN    = "min";
+    private static final String KEY_CENTER = "center";
+    private static final String KEY_MAX    = "max";
+
     /**
      * ads1115 instance
      */
@@ -33,6 +54,11 @@ public class Potentiometer extends Component {
      */
     private final Ads1115.Channel channel;
 
+    /**
+     * measured voltage range of the potentiometer, 'null' if not calibrated
+     */
+    private volatile Calibration calibration;
+
     /**
      * Create a new potentiometer component attached to the specified ADC channel and preliminary values for raw value range
      *
@@ -50,6 +76,21 @@ public class Potentiometer extends Component {
         logDebug("Potentiometer initialized");
     }
 
+    /**
+     * Creates a new potentiometer and loads its calibration from the given file, if it exists.
+     *
+     * @param ads1115         ADC instance
+     * @param channel         ADC channel the potentiometer is attached to
+     * @param range           range of the normalized values
+     * @param calibrationFile file written by {@link #saveCalibration(Path)}
+     */
+    public Potentiometer(Ads1115 ads1115, Ads1115.Channel channel, Range range, Path calibrationFile) {
+        this(ads1115, channel, range);
+        if (Files.exists(calibrationFile)) {
+            loadCalibration(calibrationFile);
+        }
+    }
+
     /**
      * Returns actual voltage from potentiometer
      *
@@ -79,12 +120,152 @@ public class Potentiometer extends Component {
         ads1115.onValueChange(channel, (voltage) -> onChange.accept(normalizeVoltage(voltage)));
     }
 
+    /**
+     * Sets the handler for the onValueChange event. The measured voltages pass the given filters before they are
+     * normalized, use them to suppress events caused by noise.
+     *
+     * @param onChange Event handler to call
+     * @param filters  filters applied to the measured voltages
+     */
+    public void onNormalizedValueChange(Consumer<Double> onChange, SignalFilter... filters) {
+        ads1115.onValueChange(channel, (voltage) -> onChange.accept(normalizeVoltage(voltage)), filters);
+    }
+
+    /**
+     * Keeps the last measured voltages of the potentiometer during continuous reading of the ADC.
+     *
+     * @param windowSize number of voltages to keep
+     * @return history of voltages, offering moving average, min/max and RMS
+     */
+    public SampleHistory enableHistory(int windowSize) {
+        return ads1115.enableHistory(channel, windowSize);
+    }
+
+    /**
+     * Calibrates the potentiometer. Move it to both end positions during 'sweepTime'. For {@link Range#MINUS_ONE_TO_ONE}
+     * put it into center position afterwards and leave it there for 'centerTime'; the center of a
+     * {@link Range#ZERO_TO_ONE} potentiometer is just the middle of the range.
+     * <p>
+     * Continuous reading of the ADC must not be active.
+     *
+     * @param sweepTime  time to move the potentiometer to both end positions
+     * @param centerTime time to measure the center position
+     * @return the new calibration, it's used from now on
+     */
+    public Calibration calibrate(Duration sweepTime, Duration centerTime) {
+        logInfo("Calibrating potentiometer on channel %s, move it to both end positions", channel);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long end = System.nanoTime() + sweepTime.toNanos();
+        while (System.nanoTime() < end) {
+            double voltage = readCurrentVoltage();
+            min = Math.min(min, voltage);
+            max = Math.max(max, voltage);
+        }
+        if (!(max - min > MIN_CALIBRATION_RANGE)) {
+            throw new IllegalStateException("Potentiometer wasn't moved during calibration");
+        }
+
+        double center = (min + max) * 0.5;
+        if (range == Range.MINUS_ONE_TO_ONE) {
+            logInfo("Put potentiometer on channel %s into center position", channel);
+            double sum = 0;
+            int count = 0;
+            end = System.nanoTime() + centerTime.toNanos();
+            do {
+                sum += readCurrentVoltage();
+                count++;
+            } while (System.nanoTime() < end);
+            center = sum / count;
+            if (!(center - min > MIN_CALIBRATION_RANGE && max - center > MIN_CALIBRATION_RANGE)) {
+                throw new IllegalStateException("Potentiometer wasn't centered during calibration");
+            }
+        }
+
+        setCalibration(new Calibration(min, center, max));
+        logInfo("Potentiometer on channel %s calibrated: %s", channel, calibration);
+
+        return calibration;
+    }
+
+    /**
+     * @param calibration the calibration to use from now on, 'null' to estimate the range from the measured values
+     */
+    public void setCalibration(Calibration calibration) {
+        this.calibration = calibration;
+    }
+
+    public Calibration getCalibration() {
+        return calibration;
+    }
+
+    /**
+     * Stores the current calibration in a small properties file
+     *
+     * @param file the file to write
+     * @return true if the calibration was written
+     */
+    public boolean saveCalibration(Path file) {
+        Calibration current = calibration;
+        if (current == null) {
+            logError("Potentiometer on channel %s is not calibrated", channel);
+            return false;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY_MIN, Double.toString(current.getMin()));
+        properties.setProperty(KEY_CENTER, Double.toString(current.getCenter()));
+        properties.setProperty(KEY_MAX, Double.toString(current.getMax()));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Potentiometer calibration, voltages");
+            return true;
+        } catch (IOException e) {
+            logException("Can't write potentiometer calibration: ", e);
+            return false;
+        }
+    }
+
+    /**
+     * Loads a calibration written by {@link #saveCalibration(Path)} and uses it from now on
+     *
+     * @param file the file to read
+     * @return true if the calibration was loaded
+     */
+    public boolean loadCalibration(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+            setCalibration(new Calibration(Double.parseDouble(properties.getProperty(KEY_MIN)),
+                                           Double.parseDouble(properties.getProperty(KEY_CENTER)),
+                                           Double.parseDouble(properties.getProperty(KEY_MAX))));
+            logDebug("Potentiometer calibration loaded: %s", calibration);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logException("Can't read potentiometer calibration: ", e);
+            return false;
+        }
+    }
+
     @Override
     public void reset() {
         ads1115.resetChannel(channel);
     }
 
-    private double normalizeVoltage(double voltage) {
+    public Ads1115.Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Normalizes a voltage measured on the channel of this potentiometer
+     *
+     * @param voltage measured voltage
+     * @return normalized value, in the range of this potentiometer
+     */
+    double normalizeVoltage(double voltage) {
+        Calibration current = calibration;
+        if (current != null) {
+            return current.normalize(voltage, range);
+        }
+
         double maxRawValue = ads1115.maxRawValue(channel);
         double minRawValue = ads1115.minRawValue(channel);
 
@@ -97,4 +278,76 @@ public class Potentiometer extends Component {
         }
 
     }
+
+    /**
+     * Measured voltages of the end positions and the center position of a potentiometer.
+     * <p>
+     * Scale and offset for normalizing are computed once, normalizing a voltage is a single multiply-add.
+     */
+    public static final class Calibration {
+        private final double min;
+        private final double center;
+        private final double max;
+
+        /**
+         * ZERO_TO_ONE: min - max
+         */
+        private final double scale;
+        private final double offset;
+
+        /**
+         * MINUS_ONE_TO_ONE: min - center and center - max
+         */
+        private final double lowerScale;
+        private final double lowerOffset;
+        private final double upperScale;
+        private final double upperOffset;
+
+        public Calibration(double min, double center, double max) {
+            if (!(min < center && center < max)) {
+                throw new IllegalArgumentException("Calibration needs min < center < max");
+            }
+            this.min    = min;
+            this.center = center;
+            this.max    = max;
+
+            scale  = 1.0 / (max - min);
+            offset = -min * scale;
+
+            lowerScale  = 1.0 / (center - min);
+            lowerOffset = -center * lowerScale;
+            upperScale  = 1.0 / (max - center);
+            upperOffset = -center * upperScale;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getCenter() {
+            return center;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        /**
+         * @param voltage measured voltage
+         * @param range   range of the normalized value
+         * @return normalized value, clamped to the range
+         */
+        public double normalize(double voltage, Range range) {
+            if (range == Range.ZERO_TO_ONE) {
+                return Math.max(0.0, Math.min(voltage * scale + offset, 1.0));
+            }
+            double value = voltage < center ? voltage * lowerScale + lowerOffset : voltage * upperScale + upperOffset;
+            return Math.max(-1.0, Math.min(value, 1.0));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("min %.3f V, center %.3f V, max %.3f V", min, center, max);
+        }
+    }
 }
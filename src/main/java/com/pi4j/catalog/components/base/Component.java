@@ -1,6 +1,7 @@
 package com.pi4j.catalog.components.base;
 
 import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -68,6 +69,20 @@ public abstract class Component {
         }
     }
 
+    /**
+     * Utility function to sleep until {@link System#nanoTime()} reaches the given deadline.
+     * In contrast to {@link #delay(Duration)}, which has a resolution of milliseconds, this is precise enough to wait
+     * for fractions of a millisecond. Returns immediately if the interrupt flag is set.
+     *
+     * @param deadline point in time, as given by {@link System#nanoTime()}
+     */
+    protected void delayUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
     protected <T> T asMock(Class<T> type, Object instance) {
         return type.cast(instance);
     }
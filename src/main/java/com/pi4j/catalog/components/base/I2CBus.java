@@ -0,0 +1,239 @@
+package com.pi4j.catalog.components.base;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.pi4j.context.Context;
+import com.pi4j.io.i2c.I2C;
+
+/**
+ * Arbitrates the access of all {@link I2CDevice}s to one I2C bus.
+ * <p>
+ * Each transaction of a device is done while it owns the bus. Devices wait for the bus according to their
+ * {@link Priority}: when the bus is released, it's handed over to a waiting device of the highest priority. A
+ * time-critical ADC sample therefore waits at most for a single transaction of a display, not for a whole redraw.
+ * <p>
+ * A device may keep the bus for a batch of transactions (see {@link I2CDevice#acquireBus()}), e.g. to start a new
+ * conversion and read the previous result without another device getting in between.
+ * <p>
+ * The transactions are done by the calling threads, there's no thread switch involved. Each bus has its own arbiter,
+ * devices on different buses never wait for each other. Utilization and waiting times are recorded for each bus.
+ * <p>
+ * The clock of a bus can't be changed at runtime, it's set by the device tree, e.g. with
+ * {@code dtparam=i2c_arm_baudrate=400000} in {@code /boot/config.txt} for bus 1.
+ */
+public final class I2CBus {
+    private static final Map<Integer, I2CBus> BUSES = new ConcurrentHashMap<>();
+
+    private final int bus;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    /**
+     * the thread currently owning the bus and how often it acquired it (batches are nested)
+     */
+    private Thread owner;
+    private int holdCount;
+    private long acquiredAt;
+
+    /**
+     * number of threads waiting for the bus, per priority
+     */
+    private final int[] waiting = new int[Priority.values().length];
+
+    // statistics, all guarded by lock
+    private long statisticsStart = System.nanoTime();
+    private long busyNanos;
+    private long acquisitions;
+    private final long[] maxWaitNanos = new long[Priority.values().length];
+
+    private I2CBus(int bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * @param bus number of the I2C bus
+     * @return the arbiter of the bus, there's exactly one for each bus
+     */
+    public static I2CBus get(int bus) {
+        return BUSES.computeIfAbsent(bus, I2CBus::new);
+    }
+
+    public int getBus() {
+        return bus;
+    }
+
+    /**
+     * Checks if a device answers on the given address by reading a single byte.
+     * <p>
+     * Addresses already in use by an {@link I2CDevice} of this context are not accessed, they are reported as
+     * responding.
+     *
+     * @param pi4j   Pi4J context
+     * @param device I2C device address
+     * @return true if a device acknowledged the read
+     */
+    public boolean isResponding(Context pi4j, int device) {
+        String id = deviceId(bus, device);
+        if (pi4j.registry().exists(id)) {
+            return true;
+        }
+        I2C i2c = pi4j.create(I2C.newConfigBuilder(pi4j)
+                                      .id(id)
+                                      .name("Probe@" + device)
+                                      .bus(bus)
+                                      .device(device)
+                                      .build());
+        acquire(Priority.LOW);
+        try {
+            return i2c.read() >= 0;
+        } catch (RuntimeException e) {
+            //no acknowledge
+            return false;
+        } finally {
+            release();
+            pi4j.shutdown(id);
+        }
+    }
+
+    static String deviceId(int bus, int device) {
+        return "I2C-" + bus + "@" + device;
+    }
+
+    /**
+     * Waits until the calling thread owns the bus. A thread already owning the bus gets it immediately.
+     *
+     * @param priority priority of the caller
+     */
+    void acquire(Priority priority) {
+        Thread current = Thread.currentThread();
+        lock.lock();
+        try {
+            if (owner == current) {
+                holdCount++;
+                return;
+            }
+            long start = System.nanoTime();
+            int p = priority.ordinal();
+            waiting[p]++;
+            while (owner != null || higherPriorityWaiting(p)) {
+                released.awaitUninterruptibly();
+            }
+            waiting[p]--;
+
+            owner      = current;
+            holdCount  = 1;
+            acquiredAt = System.nanoTime();
+            acquisitions++;
+            maxWaitNanos[p] = Math.max(maxWaitNanos[p], acquiredAt - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the bus, must be called once for each {@link #acquire(Priority)}.
+     */
+    void release() {
+        lock.lock();
+        try {
+            if (owner != Thread.currentThread()) {
+                throw new IllegalStateException("I2C bus " + bus + " is not owned by the current thread");
+            }
+            if (--holdCount == 0) {
+                busyNanos += System.nanoTime() - acquiredAt;
+                owner = null;
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean higherPriorityWaiting(int priority) {
+        for (int p = 0; p < priority; p++) {
+            if (waiting[p] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return fraction of time the bus was owned by a device since the statistics were reset, range 0 - 1
+     */
+    public double getUtilization() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long busy = busyNanos + (owner != null ? now - acquiredAt : 0);
+            long elapsed = now - statisticsStart;
+            return elapsed > 0 ? Math.min(1.0, (double) busy / elapsed) : 0.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of times a device got the bus (a batch counts once) since the statistics were reset
+     */
+    public long getAcquisitions() {
+        lock.lock();
+        try {
+            return acquisitions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param priority priority of the waiting devices
+     * @return the longest time a device of this priority had to wait for the bus since the statistics were reset
+     */
+    public Duration getMaxWait(Priority priority) {
+        lock.lock();
+        try {
+            return Duration.ofNanos(maxWaitNanos[priority.ordinal()]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void resetStatistics() {
+        lock.lock();
+        try {
+            statisticsStart = System.nanoTime();
+            busyNanos       = 0;
+            acquisitions    = 0;
+            if (owner != null) {
+                acquiredAt = statisticsStart;
+            }
+            Arrays.fill(maxWaitNanos, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Priority of a device when waiting for the bus
+     */
+    public enum Priority {
+        /**
+         * time-critical devices, e.g. sampling an ADC
+         */
+        HIGH,
+        /**
+         * default for all devices
+         */
+        NORMAL,
+        /**
+         * devices that don't suffer from some delay, e.g. refreshing a display
+         */
+        LOW
+    }
+}
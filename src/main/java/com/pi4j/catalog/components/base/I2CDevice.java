@@ -1,6 +1,8 @@
 package com.pi4j.catalog.components.base;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.pi4j.context.Context;
 import com.pi4j.io.i2c.I2C;
@@ -19,12 +21,41 @@ public abstract class I2CDevice extends Component {
      */
     private final I2C i2c;
 
+    /**
+     * number of bus transactions done by this device
+     */
+    private final AtomicLong transactions = new AtomicLong();
+
+    /**
+     * arbiter of the bus the device is connected to, all transactions go through it
+     */
+    private final I2CBus bus;
+
+    /**
+     * priority when waiting for the bus
+     */
+    private volatile I2CBus.Priority busPriority = I2CBus.Priority.NORMAL;
+
 
     protected I2CDevice(Context pi4j, int device, String name){
+        this(pi4j, DEFAULT_BUS, device, name);
+    }
+
+    /**
+     * Creates a device on the given bus. Devices on different buses don't wait for each other, spread devices with a
+     * lot of traffic across buses to use them in parallel.
+     *
+     * @param pi4j   Pi4J context
+     * @param bus    I2C bus number, e.g. 1 for /dev/i2c-1
+     * @param device I2C device address
+     * @param name   name of the device
+     */
+    protected I2CDevice(Context pi4j, int bus, int device, String name){
+        this.bus = I2CBus.get(bus);
         i2c = pi4j.create(I2C.newConfigBuilder(pi4j)
-                .id("I2C-" + DEFAULT_BUS + "@" + device)
+                .id(I2CBus.deviceId(bus, device))
                 .name(name+ "@" + device)
-                .bus(DEFAULT_BUS)
+                .bus(bus)
                 .device(device)
                 .build());
         init(i2c);
@@ -36,12 +67,91 @@ public abstract class I2CDevice extends Component {
      * send a single command to device
      */
     protected void sendCommand(byte cmd) {
-        i2c.write(cmd);
+        beginTransaction();
+        try {
+            i2c.write(cmd);
+        } finally {
+            bus.release();
+        }
         delay(Duration.ofNanos(100_000));
     }
 
     protected int readRegister(int register) {
-        return i2c.readRegisterWord(register);
+        beginTransaction();
+        try {
+            return i2c.readRegisterWord(register);
+        } finally {
+            bus.release();
+        }
+    }
+
+    /**
+     * read a block of bytes from a register in a single transaction
+     *
+     * @param register the register to read from
+     * @param buffer   buffer for the bytes read
+     * @param offset   position in buffer for the first byte
+     * @param length   number of bytes to read
+     * @return number of bytes read
+     */
+    protected int readRegister(int register, byte[] buffer, int offset, int length) {
+        beginTransaction();
+        try {
+            return i2c.readRegister(register, buffer, offset, length);
+        } finally {
+            bus.release();
+        }
+    }
+
+    /**
+     * read a block of bytes from a register in a single transaction, from the position up to the limit of the buffer
+     *
+     * @param register the register to read from
+     * @param buffer   heap buffer for the bytes read, its position is advanced by the number of bytes read
+     * @return number of bytes read
+     */
+    protected int readRegister(int register, ByteBuffer buffer) {
+        int read = readRegister(register, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        if (read > 0) {
+            buffer.position(buffer.position() + read);
+        }
+        return read;
+    }
+
+    /**
+     * write a block of bytes to a register in a single transaction
+     *
+     * @param register the register to write to
+     * @param data     the bytes to write
+     * @param offset   position in data of the first byte
+     * @param length   number of bytes to write
+     */
+    protected void writeRegister(int register, byte[] data, int offset, int length) {
+        beginTransaction();
+        try {
+            i2c.writeRegister(register, data, offset, length);
+        } finally {
+            bus.release();
+        }
+    }
+
+    /**
+     * Combined transaction: writes some bytes (typically a register address) and reads the answer, without releasing
+     * the bus in between.
+     *
+     * @param out       the bytes to write
+     * @param buffer    buffer for the bytes read
+     * @param offset    position in buffer for the first byte
+     * @param length    number of bytes to read
+     * @return number of bytes read
+     */
+    protected int writeRead(byte[] out, byte[] buffer, int offset, int length) {
+        beginTransaction();
+        try {
+            return i2c.readRegister(out, buffer, offset, length);
+        } finally {
+            bus.release();
+        }
     }
 
     /**
@@ -50,7 +160,12 @@ public abstract class I2CDevice extends Component {
      * @param config custom configuration
      */
     protected void writeRegister(int register, int config) {
-        i2c.writeRegisterWord(register, config);
+        beginTransaction();
+        try {
+            i2c.writeRegisterWord(register, config);
+        } finally {
+            bus.release();
+        }
     }
 
     /**
@@ -59,7 +174,87 @@ public abstract class I2CDevice extends Component {
      * @param data
      */
     protected void write(byte data){
-        i2c.write(data);
+        beginTransaction();
+        try {
+            i2c.write(data);
+        } finally {
+            bus.release();
+        }
+    }
+
+    /**
+     * send a block of bytes to device in a single transaction
+     *
+     * @param data   the bytes to send
+     * @param offset position in data of the first byte
+     * @param length number of bytes to send
+     */
+    protected void write(byte[] data, int offset, int length) {
+        beginTransaction();
+        try {
+            i2c.write(data, offset, length);
+        } finally {
+            bus.release();
+        }
+    }
+
+    /**
+     * send the bytes between position and limit of the buffer to device in a single transaction
+     *
+     * @param data heap buffer with the bytes to send, its position is advanced to the limit
+     */
+    protected void write(ByteBuffer data) {
+        write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        data.position(data.limit());
+    }
+
+    /**
+     * Keeps the bus for all following transactions until {@link #releaseBus()}, no other device can use the bus in
+     * between. Use it like a lock, with {@code releaseBus()} in a finally block. Keep such batches short, devices of
+     * higher priority have to wait for the whole batch.
+     */
+    protected void acquireBus() {
+        bus.acquire(busPriority);
+    }
+
+    /**
+     * Ends a batch of transactions started by {@link #acquireBus()}
+     */
+    protected void releaseBus() {
+        bus.release();
+    }
+
+    private void beginTransaction() {
+        transactions.incrementAndGet();
+        bus.acquire(busPriority);
+    }
+
+    /**
+     * Sets the priority of this device when waiting for the bus, e.g. {@link I2CBus.Priority#HIGH} for time-critical
+     * sampling, {@link I2CBus.Priority#LOW} for refreshing a display.
+     *
+     * @param priority the new priority
+     */
+    public void setBusPriority(I2CBus.Priority priority) {
+        busPriority = priority;
+    }
+
+    public I2CBus.Priority getBusPriority() {
+        return busPriority;
+    }
+
+    /**
+     * @return arbiter of the bus this device is connected to, e.g. to query the bus utilization
+     */
+    public I2CBus getBus() {
+        return bus;
+    }
+
+    /**
+     * @return number of bus transactions done by this device so far
+     */
+    public long getTransactionCount() {
+        return transactions.get();
     }
 
     /**
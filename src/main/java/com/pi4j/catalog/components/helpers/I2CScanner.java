@@ -0,0 +1,100 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pi4j.context.Context;
+
+import com.pi4j.catalog.components.Ads1115;
+import com.pi4j.catalog.components.LcdDisplay;
+import com.pi4j.catalog.components.base.I2CBus;
+import com.pi4j.catalog.components.base.I2CDevice;
+
+/**
+ * Helper class to find the devices connected to an I2C bus, like {@code i2cdetect} does.
+ * <p>
+ * All valid 7-bit addresses are probed, for each device found the known component types using this address are
+ * reported. An address doesn't identify a chip unambiguously, the types are candidates only.
+ */
+public class I2CScanner {
+    /**
+     * addresses 0x00 - 0x02 and 0x78 - 0x7F are reserved
+     */
+    private static final int FIRST_ADDRESS = 0x03;
+    private static final int LAST_ADDRESS  = 0x77;
+
+    private I2CScanner() {
+    }
+
+    /**
+     * Probes all addresses on the given bus.
+     *
+     * @param pi4j Pi4J context
+     * @param bus  I2C bus number, e.g. 1 for /dev/i2c-1
+     * @return all devices that responded, in order of their addresses
+     */
+    public static List<Device> scan(Context pi4j, int bus) {
+        I2CBus i2cBus = I2CBus.get(bus);
+        List<Device> devices = new ArrayList<>();
+        for (int address = FIRST_ADDRESS; address <= LAST_ADDRESS; address++) {
+            if (i2cBus.isResponding(pi4j, address)) {
+                devices.add(new Device(bus, address, knownTypes(address)));
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * @param address I2C device address
+     * @return component types that may be connected at this address
+     */
+    public static List<Class<? extends I2CDevice>> knownTypes(int address) {
+        List<Class<? extends I2CDevice>> types = new ArrayList<>();
+        for (Ads1115.ADDRESS adcAddress : Ads1115.ADDRESS.values()) {
+            if (adcAddress.getAddress() == address) {
+                types.add(Ads1115.class);
+            }
+        }
+        // PCF8574 (0x20 - 0x27) and PCF8574A (0x38 - 0x3F) backpacks
+        if ((address >= 0x20 && address <= 0x27) || (address >= 0x38 && address <= 0x3F)) {
+            types.add(LcdDisplay.class);
+        }
+        return types;
+    }
+
+    /**
+     * A device found on the bus
+     */
+    public static final class Device {
+        private final int bus;
+        private final int address;
+        private final List<Class<? extends I2CDevice>> candidates;
+
+        private Device(int bus, int address, List<Class<? extends I2CDevice>> candidates) {
+            this.bus        = bus;
+            this.address    = address;
+            this.candidates = List.copyOf(candidates);
+        }
+
+        public int getBus() {
+            return bus;
+        }
+
+        public int getAddress() {
+            return address;
+        }
+
+        /**
+         * @return known component types using this address, empty if the device is unknown
+         */
+        public List<Class<? extends I2CDevice>> getCandidates() {
+            return candidates;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("bus %d, address 0x%02X: %s", bus, address,
+                                 candidates.isEmpty() ? "unknown" : candidates.stream().map(Class::getSimpleName).toList());
+        }
+    }
+}
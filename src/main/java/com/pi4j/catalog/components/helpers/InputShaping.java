@@ -0,0 +1,224 @@
+package com.pi4j.catalog.components.helpers;
+
+/**
+ * Shapes the normalized position (x, y) of a two-axis input like an analog joystick: dead zone, response curve and
+ * radial clamping.
+ * <p>
+ * Everything is precomputed into lookup tables when the shaping is built. Shaping a sample costs a single table
+ * lookup (with linear interpolation between the entries) and a few multiplications, there's no {@code pow} or
+ * {@code sqrt} involved: the circular variants look up the squared radius instead of the radius.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class InputShaping {
+    /**
+     * number of intervals of the lookup tables
+     */
+    private static final int TABLE_SIZE = 4096;
+
+    /**
+     * largest squared radius of a position inside the square -1..1 x -1..1
+     */
+    private static final double MAX_SQUARED_RADIUS = 2.0;
+
+    private final DeadZone deadZone;
+    private final boolean radialClamp;
+
+    /**
+     * SQUARE: output magnitude per axis, indexed by the input magnitude 0..1.
+     * CIRCULAR: factor to multiply both axes with, indexed by the squared radius 0..2.
+     */
+    private final double[] table;
+    private final double tableScale;
+
+    /**
+     * 1/radius, indexed by the squared radius 1..2, used for radial clamping of SQUARE dead zones
+     */
+    private final double[] clampTable;
+
+    private InputShaping(Builder builder) {
+        deadZone    = builder.deadZone;
+        radialClamp = builder.radialClamp;
+        double[] curve = builder.curve;
+        double size = builder.deadZoneSize;
+
+        table = new double[TABLE_SIZE + 1];
+        if (deadZone == DeadZone.CIRCULAR) {
+            tableScale = TABLE_SIZE / MAX_SQUARED_RADIUS;
+            for (int i = 1; i <= TABLE_SIZE; i++) {
+                double radius = Math.sqrt(i / tableScale);
+                table[i] = magnitude(radius, size, curve, radialClamp) / radius;
+            }
+            //without dead zone, the factor at the home position is the limit of its neighbours
+            table[0] = size > 0 ? 0.0 : table[1];
+            clampTable = null;
+        } else {
+            tableScale = TABLE_SIZE;
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                table[i] = magnitude((double) i / TABLE_SIZE, size, curve, false);
+            }
+            clampTable = new double[TABLE_SIZE + 1];
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                clampTable[i] = 1.0 / Math.sqrt(1.0 + (MAX_SQUARED_RADIUS - 1.0) * i / TABLE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * @return shaping without dead zone, linear response and no clamping
+     */
+    public static InputShaping none() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Shapes a position. Doesn't allocate, can be called by the sampling thread for each sample.
+     *
+     * @param x      normalized x position, range -1..1
+     * @param y      normalized y position, range -1..1
+     * @param result array of at least 2 elements, receives the shaped x and y
+     */
+    public void apply(double x, double y, double[] result) {
+        if (deadZone == DeadZone.CIRCULAR) {
+            double factor = lookup(table, (x * x + y * y) * tableScale);
+            result[0] = x * factor;
+            result[1] = y * factor;
+            return;
+        }
+
+        double shapedX = Math.copySign(lookup(table, Math.abs(x) * tableScale), x);
+        double shapedY = Math.copySign(lookup(table, Math.abs(y) * tableScale), y);
+        if (radialClamp) {
+            double squaredRadius = shapedX * shapedX + shapedY * shapedY;
+            if (squaredRadius > 1.0) {
+                double factor = lookup(clampTable, (squaredRadius - 1.0) * (TABLE_SIZE / (MAX_SQUARED_RADIUS - 1.0)));
+                shapedX *= factor;
+                shapedY *= factor;
+            }
+        }
+        result[0] = shapedX;
+        result[1] = shapedY;
+    }
+
+    /**
+     * Value of the table at a fractional position, interpolated linearly. Positions outside the table are clamped.
+     */
+    private static double lookup(double[] table, double position) {
+        int last = table.length - 1;
+        if (position >= last) {
+            return table[last];
+        }
+        if (position <= 0) {
+            return table[0];
+        }
+        int index = (int) position;
+        double fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+
+    /**
+     * Output magnitude for an input magnitude: zero in the dead zone, the remaining range is scaled to 0..1 and
+     * passed through the curve. Magnitudes beyond 1 continue linearly unless clamped.
+     */
+    private static double magnitude(double input, double deadZoneSize, double[] curve, boolean clamp) {
+        if (input <= deadZoneSize) {
+            return 0.0;
+        }
+        double scaled = (input - deadZoneSize) / (1.0 - deadZoneSize);
+        if (scaled >= 1.0) {
+            return clamp ? curve[curve.length - 1] : curve[curve.length - 1] + scaled - 1.0;
+        }
+        return lookup(curve, scaled * (curve.length - 1));
+    }
+
+    /**
+     * Shape of the dead zone around the home position
+     */
+    public enum DeadZone {
+        /**
+         * Each axis has its own dead zone, small movements along one axis are suppressed even if the other axis
+         * is moved
+         */
+        SQUARE,
+        /**
+         * Dead zone is a circle around the home position, the direction of the movement is preserved
+         */
+        CIRCULAR
+    }
+
+    public static class Builder {
+        private DeadZone deadZone = DeadZone.SQUARE;
+        private double deadZoneSize;
+        private double[] curve = {0.0, 1.0};
+        private boolean radialClamp;
+
+        private Builder() {
+        }
+
+        /**
+         * @param shape shape of the dead zone
+         * @param size  size of the dead zone, range 0 (no dead zone) to 1 (exclusive)
+         * @return the builder
+         */
+        public Builder deadZone(DeadZone shape, double size) {
+            if (size < 0 || size >= 1) {
+                throw new IllegalArgumentException("dead zone size must be in range 0 - 1 (exclusive)");
+            }
+            this.deadZone     = shape;
+            this.deadZoneSize = size;
+            return this;
+        }
+
+        /**
+         * Exponential response {@code out = in^exponent}: fine control around the home position, full speed at the
+         * end positions.
+         *
+         * @param exponent 1 is linear, common values are 2 - 3
+         * @return the builder
+         */
+        public Builder exponential(double exponent) {
+            if (exponent <= 0) {
+                throw new IllegalArgumentException("exponent must be positive");
+            }
+            double[] points = new double[TABLE_SIZE + 1];
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                points[i] = Math.pow((double) i / TABLE_SIZE, exponent);
+            }
+            this.curve = points;
+            return this;
+        }
+
+        /**
+         * Custom response curve, given as output magnitudes for evenly spaced input magnitudes from 0 to 1.
+         * Values in between are interpolated linearly.
+         *
+         * @param points at least two values, typically starting at 0 and ending at 1
+         * @return the builder
+         */
+        public Builder curve(double... points) {
+            if (points.length < 2) {
+                throw new IllegalArgumentException("curve needs at least 2 points");
+            }
+            this.curve = points.clone();
+            return this;
+        }
+
+        /**
+         * @param clamp true to limit the radius of the shaped position to 1, otherwise the corners of a square
+         *              joystick reach a radius of up to 1.41
+         * @return the builder
+         */
+        public Builder radialClamp(boolean clamp) {
+            this.radialClamp = clamp;
+            return this;
+        }
+
+        public InputShaping build() {
+            return new InputShaping(this);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Keeps the last N samples of a signal, e.g. the voltages measured on one ADC channel, and offers statistics
+ * over this window.
+ * <p>
+ * The samples are stored in a primitive ring buffer. Mean and variance are updated incrementally with each new
+ * sample (Welford's algorithm, extended to a sliding window), minimum and maximum are tracked with monotonic queues.
+ * Adding a sample therefore costs O(1) (amortized O(1) for min/max) and never allocates.
+ * <p>
+ * A history has exactly one writer, the sampling thread. Any number of other threads may query it at the same time.
+ * Readers never block the writer: each update is guarded by a sequence counter (a 'seqlock') and a reader that was
+ * overtaken by an update simply tries again.
+ */
+public class SampleHistory {
+    /**
+     * the ring buffer of samples, {@code head} is the position for the next sample
+     */
+    private final double[] samples;
+    private int head;
+    private int size;
+
+    /**
+     * total number of samples ever added, used as sequence number for the min/max queues
+     */
+    private long sampleCount;
+
+    /**
+     * running mean and sum of squared differences from the mean (Welford)
+     */
+    private double mean;
+    private double m2;
+
+    /**
+     * monotonic queues, containing sequence numbers of the samples that may still become min or max of the window
+     */
+    private final MonotonicQueue minQueue;
+    private final MonotonicQueue maxQueue;
+
+    /**
+     * odd while the writer is updating, even otherwise
+     */
+    private volatile long version;
+
+    /**
+     * Creates a new, empty history
+     *
+     * @param windowSize number of samples to keep, must be at least 1
+     */
+    public SampleHistory(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("window size must be at least 1");
+        }
+        samples  = new double[windowSize];
+        minQueue = new MonotonicQueue(windowSize);
+        maxQueue = new MonotonicQueue(windowSize);
+    }
+
+    /**
+     * Adds a new sample and drops the oldest one if the window is full.
+     * <p>
+     * Must only be called by a single thread.
+     *
+     * @param sample the new value
+     */
+    public void add(double sample) {
+        long v = version;
+        version = v + 1;
+        VarHandle.storeStoreFence();
+
+        int capacity = samples.length;
+        if (size < capacity) {
+            size++;
+            double delta = sample - mean;
+            mean += delta / size;
+            m2   += delta * (sample - mean);
+        } else {
+            double oldest  = samples[head];
+            double oldMean = mean;
+            mean += (sample - oldest) / size;
+            m2   += (sample - oldest) * (sample - mean + oldest - oldMean);
+        }
+        samples[head] = sample;
+        head = (head + 1) % capacity;
+
+        long seq = sampleCount++;
+        minQueue.push(seq, sample, true);
+        maxQueue.push(seq, sample, false);
+
+        version = v + 2;
+    }
+
+    /**
+     * Removes all samples
+     * <p>
+     * Must only be called by the writing thread (or while no samples are added).
+     */
+    public void clear() {
+        long v = version;
+        version = v + 1;
+        VarHandle.storeStoreFence();
+
+        head        = 0;
+        size        = 0;
+        sampleCount = 0;
+        mean = 0;
+        m2   = 0;
+        minQueue.clear();
+        maxQueue.clear();
+
+        version = v + 2;
+    }
+
+    /**
+     * @return maximum number of samples in the window
+     */
+    public int getWindowSize() {
+        return samples.length;
+    }
+
+    /**
+     * Takes a consistent snapshot of all statistics of the current window.
+     *
+     * @return statistics of the samples currently in the window
+     */
+    public Statistics getStatistics() {
+        while (true) {
+            long v = version;
+            if ((v & 1) == 0) {
+                int    n   = size;
+                double avg = mean;
+                double sq  = m2;
+                double min = n > 0 ? samples[index(minQueue.first())] : Double.NaN;
+                double max = n > 0 ? samples[index(maxQueue.first())] : Double.NaN;
+
+                VarHandle.acquireFence();
+                if (version == v) {
+                    return new Statistics(n, avg, sq, min, max);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copies the samples of the current window, oldest first, to the given array.
+     *
+     * @param target array to copy to, at most {@code target.length} of the most recent samples are copied
+     * @return number of samples copied
+     */
+    public int copyTo(double[] target) {
+        while (true) {
+            long v = version;
+            if ((v & 1) == 0) {
+                int n     = Math.min(size, target.length);
+                int start = head - n;
+                for (int i = 0; i < n; i++) {
+                    target[i] = samples[Math.floorMod(start + i, samples.length)];
+                }
+
+                VarHandle.acquireFence();
+                if (version == v) {
+                    return n;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private int index(long sequenceNumber) {
+        return (int) (sequenceNumber % samples.length);
+    }
+
+    /**
+     * Queue of sequence numbers whose samples are monotonically increasing (min) or decreasing (max).
+     * The first entry is always the min (resp. max) of the current window.
+     */
+    private final class MonotonicQueue {
+        private final long[] entries;
+        private int first;
+        private int count;
+
+        MonotonicQueue(int capacity) {
+            entries = new long[capacity];
+        }
+
+        void push(long seq, double sample, boolean min) {
+            // drop the entry that is pushed out of the window by the new sample
+            if (count > 0 && entries[first] <= seq - entries.length) {
+                first = (first + 1) % entries.length;
+                count--;
+            }
+            // drop all entries that can't become min (max) anymore as long as the new sample is in the window
+            while (count > 0) {
+                double last = samples[index(entries[(first + count - 1) % entries.length])];
+                if (min ? last >= sample : last <= sample) {
+                    count--;
+                } else {
+                    break;
+                }
+            }
+            entries[(first + count) % entries.length] = seq;
+            count++;
+        }
+
+        long first() {
+            return entries[first];
+        }
+
+        void clear() {
+            first = 0;
+            count = 0;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the statistics of a {@link SampleHistory}
+     */
+    public static final class Statistics {
+        private final int count;
+        private final double mean;
+        private final double m2;
+        private final double min;
+        private final double max;
+
+        private Statistics(int count, double mean, double m2, double min, double max) {
+            this.count = count;
+            this.mean  = mean;
+            this.m2    = Math.max(0.0, m2); // rounding errors of the sliding window update may lead to tiny negative values
+            this.min   = min;
+            this.max   = max;
+        }
+
+        /**
+         * @return number of samples in the window
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return mean of all samples in the window, NaN if there are none
+         */
+        public double getMean() {
+            return count > 0 ? mean : Double.NaN;
+        }
+
+        /**
+         * @return sample variance, NaN if there are less than two samples
+         */
+        public double getVariance() {
+            return count > 1 ? m2 / (count - 1) : Double.NaN;
+        }
+
+        /**
+         * @return sample standard deviation, NaN if there are less than two samples
+         */
+        public double getStandardDeviation() {
+            return Math.sqrt(getVariance());
+        }
+
+        /**
+         * @return root mean square of all samples in the window, NaN if there are none
+         */
+        public double getRms() {
+            return count > 0 ? Math.sqrt(m2 / count + mean * mean) : Double.NaN;
+        }
+
+        /**
+         * @return smallest sample in the window, NaN if there are none
+         */
+        public double getMin() {
+            return min;
+        }
+
+        /**
+         * @return largest sample in the window, NaN if there are none
+         */
+        public double getMax() {
+            return max;
+        }
+    }
+}
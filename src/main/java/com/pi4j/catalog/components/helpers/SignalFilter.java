@@ -0,0 +1,242 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.util.Arrays;
+
+/**
+ * A digital filter stage for a sampled signal, e.g. the voltages measured on an ADC channel.
+ * <p>
+ * Filters are called for every single sample by the sampling thread, so implementations must not allocate.
+ * A filter may decide that a sample doesn't produce any output (e.g. while decimating or if the change is within the
+ * hysteresis band). In this case it returns {@link Double#NaN}, and all following stages of a chain are skipped.
+ * <p>
+ * Filters have state and are not thread safe. Use a new instance for each channel.
+ */
+@FunctionalInterface
+public interface SignalFilter {
+
+    /**
+     * Filters the next sample
+     *
+     * @param sample the new sample
+     * @return the filtered value or {@link Double#NaN} if there's no output for this sample
+     */
+    double apply(double sample);
+
+    /**
+     * Resets the internal state of the filter
+     */
+    default void reset() {
+        //nothing to reset by default
+    }
+
+    /**
+     * Combines several filters, each sample passes the filters in the given order.
+     *
+     * @param filters the filter stages
+     * @return the filter chain
+     */
+    static SignalFilter chain(SignalFilter... filters) {
+        return new Chain(filters);
+    }
+
+    /**
+     * Exponential moving average: {@code y = y + alpha * (x - y)}
+     *
+     * @param alpha smoothing factor, range 0 (exclusive) - 1. Small values smooth more but react slower
+     * @return the filter
+     */
+    static SignalFilter exponentialMovingAverage(double alpha) {
+        return new ExponentialMovingAverage(alpha);
+    }
+
+    /**
+     * Median of the last samples, removes single spikes without smearing edges
+     *
+     * @param taps number of samples the median is taken from
+     * @return the filter
+     */
+    static SignalFilter median(int taps) {
+        return new Median(taps);
+    }
+
+    /**
+     * Oversampling and decimation: averages {@code factor} samples and emits a single value for them
+     *
+     * @param factor number of samples combined into one
+     * @return the filter
+     */
+    static SignalFilter decimate(int factor) {
+        return new Decimation(factor);
+    }
+
+    /**
+     * Hysteresis: the output only changes if the input leaves a band of the given width around the last output.
+     * Once outside the band, the output follows the input with an offset of half the band width, so reversing the
+     * direction needs a change of the whole band width. A signal dithering around a value doesn't produce any output.
+     *
+     * @param band width of the band
+     * @return the filter
+     */
+    static SignalFilter hysteresis(double band) {
+        return new Hysteresis(band);
+    }
+
+    class Chain implements SignalFilter {
+        private final SignalFilter[] stages;
+
+        private Chain(SignalFilter... stages) {
+            this.stages = stages.clone();
+        }
+
+        @Override
+        public double apply(double sample) {
+            double value = sample;
+            for (SignalFilter stage : stages) {
+                value = stage.apply(value);
+                if (Double.isNaN(value)) {
+                    break;
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            for (SignalFilter stage : stages) {
+                stage.reset();
+            }
+        }
+    }
+
+    class ExponentialMovingAverage implements SignalFilter {
+        private final double alpha;
+        private double average = Double.NaN;
+
+        private ExponentialMovingAverage(double alpha) {
+            if (alpha <= 0 || alpha > 1) {
+                throw new IllegalArgumentException("alpha must be in range 0 (exclusive) - 1");
+            }
+            this.alpha = alpha;
+        }
+
+        @Override
+        public double apply(double sample) {
+            average = Double.isNaN(average) ? sample : average + alpha * (sample - average);
+            return average;
+        }
+
+        @Override
+        public void reset() {
+            average = Double.NaN;
+        }
+    }
+
+    class Median implements SignalFilter {
+        /**
+         * the last samples in order of arrival and the same samples sorted
+         */
+        private final double[] window;
+        private final double[] sorted;
+        private int next;
+        private int size;
+
+        private Median(int taps) {
+            if (taps < 1) {
+                throw new IllegalArgumentException("median needs at least 1 tap");
+            }
+            window = new double[taps];
+            sorted = new double[taps];
+        }
+
+        @Override
+        public double apply(double sample) {
+            if (size == window.length) {
+                // remove the oldest sample from the sorted part
+                int pos = Arrays.binarySearch(sorted, 0, size, window[next]);
+                System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
+                size--;
+            }
+            window[next] = sample;
+            next = (next + 1) % window.length;
+
+            // insertion into the sorted part
+            int pos = size;
+            while (pos > 0 && sorted[pos - 1] > sample) {
+                sorted[pos] = sorted[pos - 1];
+                pos--;
+            }
+            sorted[pos] = sample;
+            size++;
+
+            return (size & 1) == 1 ? sorted[size / 2] : (sorted[size / 2 - 1] + sorted[size / 2]) * 0.5;
+        }
+
+        @Override
+        public void reset() {
+            next = 0;
+            size = 0;
+        }
+    }
+
+    class Decimation implements SignalFilter {
+        private final int factor;
+        private double sum;
+        private int count;
+
+        private Decimation(int factor) {
+            if (factor < 1) {
+                throw new IllegalArgumentException("decimation factor must be at least 1");
+            }
+            this.factor = factor;
+        }
+
+        @Override
+        public double apply(double sample) {
+            sum += sample;
+            if (++count < factor) {
+                return Double.NaN;
+            }
+            double average = sum / factor;
+            sum   = 0;
+            count = 0;
+            return average;
+        }
+
+        @Override
+        public void reset() {
+            sum   = 0;
+            count = 0;
+        }
+    }
+
+    class Hysteresis implements SignalFilter {
+        private final double halfBand;
+        private double output = Double.NaN;
+
+        private Hysteresis(double band) {
+            if (band < 0) {
+                throw new IllegalArgumentException("band must not be negative");
+            }
+            this.halfBand = band * 0.5;
+        }
+
+        @Override
+        public double apply(double sample) {
+            if (Double.isNaN(output)) {
+                output = sample;
+            } else if (sample > output + halfBand) {
+                output = sample - halfBand;
+            } else if (sample < output - halfBand) {
+                output = sample + halfBand;
+            } else {
+                return Double.NaN;
+            }
+            return output;
+        }
+
+        @Override
+        public void reset() {
+            output = Double.NaN;
+        }
+    }
+}
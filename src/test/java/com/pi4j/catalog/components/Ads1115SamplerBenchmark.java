@@ -0,0 +1,176 @@
+package com.pi4j.catalog.components;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.Pi4J;
+import com.pi4j.context.Context;
+import com.pi4j.plugin.mock.platform.MockPlatform;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the continuous reading of several ADCs, each on a thread of its own, against a single
+ * {@link Ads1115Sampler} like {@link Ads1115Sampler#shared()}. The ADCs are simulated with {@link Ads1115Simulator},
+ * 2 channels each, 4 ADCs per I2C bus. Reported are the threads used for reading, their stack memory and the period
+ * between two scans of an ADC.
+ * <p>
+ * Not part of the unit tests (the class name doesn't end with 'Test'), run it with
+ * {@code mvn test -Dtest=Ads1115SamplerBenchmark -DargLine=-XX:NativeMemoryTracking=summary}. Without native memory
+ * tracking the stack memory isn't reported. The simulator busy-waits for the I2C timing, on a machine with few CPUs
+ * the jitter is dominated by CPU contention.
+ */
+public class Ads1115SamplerBenchmark {
+    private static final int[] ADC_COUNTS = {2, 8};
+    private static final long WARM_UP_MILLIS = 1_000;
+    private static final long MEASURED_MILLIS = 10_000;
+
+    private static final Ads1115.ADDRESS[] ADDRESSES = Ads1115.ADDRESS.values();
+    private static final Pattern THREAD_MEMORY = Pattern.compile("- +Thread \\(reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+
+    @Test
+    public void compareSamplers() throws InterruptedException {
+        System.out.println("ADCs  reading        threads  stack reserved KB  stack committed KB  scan period ms  sd ms");
+        for (int adcCount : ADC_COUNTS) {
+            measure(adcCount, false);
+            measure(adcCount, true);
+        }
+    }
+
+    private static void measure(int adcCount, boolean shared) throws InterruptedException {
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        List<Ads1115> adcs = new ArrayList<>();
+        List<ScanPeriods> periods = new ArrayList<>();
+        for (int i = 0; i < adcCount; i++) {
+            int bus = i < ADDRESSES.length ? 1 : 3;
+            Ads1115 adc = new Ads1115(simulation, bus, ADDRESSES[i % ADDRESSES.length], Ads1115.GAIN.GAIN_6_144V);
+            adc.onValueChange(Ads1115.Channel.A0, value -> {});
+            adc.onValueChange(Ads1115.Channel.A1, value -> {});
+            ScanPeriods scanPeriods = new ScanPeriods();
+            adc.addScanListener(scanPeriods);
+            adcs.add(adc);
+            periods.add(scanPeriods);
+        }
+
+        long[] threadMemoryBefore = threadMemory();
+        int threadsBefore = Thread.activeCount();
+        //like the shared sampler, but its thread ends with the measurement
+        Ads1115Sampler sampler = shared ? new Ads1115Sampler(1) : null;
+        for (Ads1115 adc : adcs) {
+            if (shared) {
+                adc.startContinuousReading(0.0, sampler);
+            } else {
+                adc.startContinuousReading(0.0);
+            }
+        }
+        sleep(WARM_UP_MILLIS);
+        periods.forEach(ScanPeriods::clear);
+        int threads = Thread.activeCount() - threadsBefore;
+        long[] threadMemory = threadMemory();
+        sleep(MEASURED_MILLIS);
+        adcs.forEach(Ads1115::stopContinuousReading);
+        if (sampler != null) {
+            sampler.close();
+        }
+        awaitThreads(threadsBefore);
+
+        long count = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (ScanPeriods scanPeriods : periods) {
+            synchronized (scanPeriods) {
+                count        += scanPeriods.count;
+                sum          += scanPeriods.sum;
+                sumOfSquares += scanPeriods.sumOfSquares;
+            }
+        }
+        double mean = sum / count;
+        double sd = Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+
+        System.out.printf("%4d  %-13s  %7d  %17s  %18s  %14.1f  %5.1f%n",
+                          adcCount, shared ? "shared" : "own threads", threads,
+                          difference(threadMemory, threadMemoryBefore, 0), difference(threadMemory, threadMemoryBefore, 1),
+                          mean / 1e6, sd / 1e6);
+        assertTrue(count > 0, "no scans measured");
+
+        simulation.shutdown();
+    }
+
+    /**
+     * Waits until the reading threads have ended, they'd distort the next measurement
+     */
+    private static void awaitThreads(int threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Thread.activeCount() > threads && System.currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+    }
+
+    private static String difference(long[] memory, long[] before, int index) {
+        return memory == null || before == null ? "n/a" : Long.toString(memory[index] - before[index]);
+    }
+
+    /**
+     * Reads the memory of all thread stacks from the native memory tracking, by reflection: the module of the
+     * components doesn't read the management modules.
+     *
+     * @return reserved and committed KB, null if native memory tracking is off
+     */
+    private static long[] threadMemory() {
+        try {
+            Class<?> objectNameClass = Class.forName("javax.management.ObjectName");
+            Object server = Class.forName("java.lang.management.ManagementFactory").getMethod("getPlatformMBeanServer").invoke(null);
+            Object name = objectNameClass.getConstructor(String.class).newInstance("com.sun.management:type=DiagnosticCommand");
+            Method invoke = Class.forName("javax.management.MBeanServerConnection")
+                                 .getMethod("invoke", objectNameClass, String.class, Object[].class, String[].class);
+            String summary = (String) invoke.invoke(server, name, "vmNativeMemory",
+                                                    new Object[]{new String[]{"summary"}},
+                                                    new String[]{String[].class.getName()});
+            Matcher matcher = THREAD_MEMORY.matcher(summary);
+            if (!matcher.find()) {
+                return null;
+            }
+            return new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't read native memory tracking", e);
+        }
+    }
+
+    /**
+     * Statistics of the time between two scans of an ADC, updated by the thread reading the ADC
+     */
+    private static final class ScanPeriods implements Runnable {
+        private long lastScan;
+        private long count;
+        private double sum;
+        private double sumOfSquares;
+
+        @Override
+        public synchronized void run() {
+            long now = System.nanoTime();
+            if (lastScan != 0) {
+                double period = now - lastScan;
+                count++;
+                sum          += period;
+                sumOfSquares += period * period;
+            }
+            lastScan = now;
+        }
+
+        private synchronized void clear() {
+            lastScan     = 0;
+            count        = 0;
+            sum          = 0;
+            sumOfSquares = 0;
+        }
+    }
+}
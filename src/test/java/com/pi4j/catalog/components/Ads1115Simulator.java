@@ -0,0 +1,122 @@
+package com.pi4j.catalog.components;
+
+import com.pi4j.io.i2c.I2C;
+import com.pi4j.io.i2c.I2CConfig;
+import com.pi4j.plugin.mock.provider.i2c.MockI2C;
+import com.pi4j.plugin.mock.provider.i2c.MockI2CProviderImpl;
+
+/**
+ * Timing accurate simulation of an ADS1115 on the I2C bus.
+ * <p>
+ * Each transaction blocks for the time it needs on a 100 kHz bus (9 bits per byte, including the address byte) plus
+ * a fixed overhead per transaction. A single shot conversion takes 1/SPS and updates the conversion register only
+ * when it's finished, just like the real device.
+ */
+public class Ads1115Simulator extends MockI2C {
+    private static final long NANOS_PER_BYTE          = 90_000;
+    private static final long TRANSACTION_OVERHEAD    = 100_000;
+    private static final int[] SPS = {8, 16, 32, 64, 128, 250, 475, 860};
+
+    private final short[] inputs = new short[8];
+    private final double[] inputVoltages = new double[8];
+    private final boolean[] isVoltage = new boolean[8];
+
+    private int config = 0x8583;
+    private boolean converting;
+    private int conversionMux;
+    private long conversionDone;
+    private Ads1115.GAIN conversionGain;
+    private short conversionResult;
+
+    private int transactions;
+
+    public Ads1115Simulator(Provider provider, I2CConfig config) {
+        super(provider, config);
+    }
+
+    /**
+     * Sets the raw value the ADC measures on the given channel.
+     */
+    public synchronized void setInput(Ads1115.Channel channel, int raw) {
+        inputs[channel.getMux().getMux() >> 12] = (short) raw;
+        isVoltage[channel.getMux().getMux() >> 12] = false;
+    }
+
+    /**
+     * Sets the voltage the ADC measures on the given channel, the conversion result depends on the gain.
+     */
+    public synchronized void setInputVoltage(Ads1115.Channel channel, double voltage) {
+        inputVoltages[channel.getMux().getMux() >> 12] = voltage;
+        isVoltage[channel.getMux().getMux() >> 12] = true;
+    }
+
+    public synchronized int getTransactions() {
+        return transactions;
+    }
+
+    public synchronized int getConfig() {
+        return config;
+    }
+
+    @Override
+    public synchronized int writeRegister(int register, byte[] data, int offset, int length) {
+        transfer(2 + length);
+        if (register == 0x01 && length == 2) {
+            update();
+            config = ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+            if ((config & 0x8000) != 0 && !converting) {
+                converting     = true;
+                conversionMux  = (config >> 12) & 0x07;
+                conversionGain = Ads1115.GAIN.values()[Math.min((config >> 9) & 0x07, 5)];
+                conversionDone = System.nanoTime() + 1_000_000_000L / SPS[(config >> 5) & 0x07];
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public synchronized int readRegister(int register, byte[] buffer, int offset, int length) {
+        transfer(3 + length);
+        update();
+        int value = switch (register) {
+            case 0x00 -> conversionResult;
+            case 0x01 -> converting ? config & 0x7FFF : config | 0x8000;
+            default   -> 0;
+        };
+        if (length >= 2) {
+            buffer[offset]     = (byte) (value >> 8);
+            buffer[offset + 1] = (byte) value;
+        }
+        return length;
+    }
+
+    private void update() {
+        if (converting && System.nanoTime() >= conversionDone) {
+            converting       = false;
+            conversionResult = isVoltage[conversionMux] ? toCounts(inputVoltages[conversionMux]) : inputs[conversionMux];
+        }
+    }
+
+    private short toCounts(double voltage) {
+        long counts = Math.round(voltage / conversionGain.gainPerBit());
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, counts));
+    }
+
+    private void transfer(int bytes) {
+        transactions++;
+        long end = System.nanoTime() + TRANSACTION_OVERHEAD + bytes * NANOS_PER_BYTE;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Replaces the default mock I2C provider, all I2C devices are simulated ADS1115
+     */
+    public static class Provider extends MockI2CProviderImpl {
+        @Override
+        public I2C create(I2CConfig config) {
+            return new Ads1115Simulator(this, config);
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.pi4j.catalog.components;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.BeforeEach;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.pi4j.Pi4J;
+import com.pi4j.context.Context;
+import com.pi4j.io.gpio.digital.DigitalInput;
+import com.pi4j.io.gpio.digital.DigitalState;
 import com.pi4j.io.i2c.I2C;
+import com.pi4j.plugin.mock.platform.MockPlatform;
 
 import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.base.PIN;
+import com.pi4j.catalog.components.helpers.I2CScanner;
 
-import static org.mockito.Mockito.when;
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class Ads1115Test extends ComponentTest {
 
@@ -19,10 +36,10 @@ public class Ads1115Test extends ComponentTest {
     private int answerConfigRegister;
     private static final int CONVERSION_REGISTER = 0x00;
     private static final int CONFIG_REGISTER = 0x01;
-    @InjectMocks
+    private static final int LO_THRESH_REGISTER = 0x02;
+    private static final int HI_THRESH_REGISTER = 0x03;
     Ads1115 ads1115;
 
-    @Mock
     I2C mockI2C;
 
     @BeforeEach
@@ -43,11 +60,506 @@ public class Ads1115Test extends ComponentTest {
                 | Ads1115.MultiplexerConfig.AIN0_GND.getMux()
                 | Ads1115.OperationMode.SINGLE.getMode();
 
-        when(mockI2C.writeRegisterWord(CONFIG_REGISTER, defaultConfigRegister | Ads1115.MultiplexerConfig.AIN0_GND.getMux() | Ads1115.OperationMode.SINGLE.getMode())).thenReturn(answerSingleShotAIN0ConfigRegister);
-
         ads1115 = new Ads1115(pi4j);
         mockI2C = ads1115.mock();
     }
 
+    @Test
+    public void testReadDifferentialChannel() {
+        //given
+        //two's complement of -200
+        mockI2C.writeRegister(CONVERSION_REGISTER, new byte[]{(byte) 0xFF, (byte) 0x38});
+
+        //when
+        double voltage = ads1115.readValue(Ads1115.Channel.A0_A1);
+
+        //then
+        assertEquals(-200 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 1e-9);
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.MultiplexerConfig.AIN0_AIN1.getMux(), config & Ads1115.MultiplexerConfig.CLR_OTHER_CONF_PARAM.getMux());
+    }
+
+    @Test
+    public void testThresholdAlert() {
+        //given
+        List<Double> alerts = new CopyOnWriteArrayList<>();
+
+        //when
+        ads1115.startThresholdAlert(Ads1115.Channel.A1, 0.5, 3.0, PIN.D26, alerts::add);
+
+        //then
+        assertEquals(3.0 / Ads1115.GAIN.GAIN_6_144V.gainPerBit(), mockI2C.readRegisterWord(HI_THRESH_REGISTER), 1.0);
+        assertEquals(0.5 / Ads1115.GAIN.GAIN_6_144V.gainPerBit(), mockI2C.readRegisterWord(LO_THRESH_REGISTER), 1.0);
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.MultiplexerConfig.AIN1_GND.getMux(), config & Ads1115.MultiplexerConfig.CLR_OTHER_CONF_PARAM.getMux());
+        assertEquals(Ads1115.OperationMode.CONTINUOUS.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+        assertEquals(Ads1115.COMP_MODE.WINDOW_COMP.getCompMode(), config & Ads1115.COMP_MODE.CLR_OTHER_CONF_PARAM.getCompMode());
+        assertEquals(Ads1115.COMP_LAT.DO_LATCH.getLatching(), config & Ads1115.COMP_LAT.CLR_OTHER_CONF_PARAM.getLatching());
+        assertEquals(Ads1115.COMP_QUE.ASSERT_ONE.getCompQue(), config & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
+        assertThrows(IllegalStateException.class, () -> ads1115.readValue(Ads1115.Channel.A0));
+
+        //when
+        mockI2C.writeRegister(CONVERSION_REGISTER, new byte[]{0x50, 0x00});
+        ads1115.mockAlert().mockState(DigitalState.HIGH);
+        ads1115.mockAlert().mockState(DigitalState.LOW);
+
+        //then
+        assertEquals(1, alerts.size());
+        assertEquals(0x5000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), alerts.get(0), 1e-9);
+
+        //when
+        ads1115.stopThresholdAlert();
+
+        //then
+        config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.COMP_QUE.DISABLE_COMP.getCompQue(), config & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
+        assertEquals(Ads1115.OperationMode.SINGLE.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+    }
+
+    @Test
+    public void testStopContinuousReadingStopsThresholdAlert() {
+        //given
+        ads1115.startThresholdAlert(Ads1115.Channel.A1, 0.5, 3.0, PIN.D26, voltage -> {});
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.OperationMode.CONTINUOUS.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+
+        //when
+        ads1115.stopContinuousReading();
+
+        //then
+        config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.COMP_QUE.DISABLE_COMP.getCompQue(), config & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
+        assertEquals(Ads1115.OperationMode.SINGLE.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+        assertNull(ads1115.mockAlert());
+        assertDoesNotThrow(() -> ads1115.startThresholdAlert(Ads1115.Channel.A1, 0.5, 3.0, PIN.D26, voltage -> {}));
+    }
+
+    @Test
+    public void testFailedThresholdAlertDoesNotLockAdc() {
+        //given the GPIO of the alert pin is already in use
+        DigitalInput blocking = pi4j.create(DigitalInput.newConfigBuilder(pi4j)
+                                                    .id("BCM" + PIN.D26)
+                                                    .address(PIN.D26.getPin())
+                                                    .build());
+
+        //when
+        assertThrows(RuntimeException.class,
+                     () -> ads1115.startThresholdAlert(Ads1115.Channel.A1, 0.5, 3.0, PIN.D26, voltage -> {}));
+
+        //then
+        assertNull(ads1115.mockAlert());
+        pi4j.shutdown(blocking.id());
+        assertDoesNotThrow(() -> ads1115.startThresholdAlert(Ads1115.Channel.A1, 0.5, 3.0, PIN.D26, voltage -> {}));
+    }
+
+    @Test
+    public void testCapture(@TempDir Path directory) throws IOException {
+        //given
+        for (int i = 0; i < 50; i++) {
+            mockI2C.writeRegister(CONVERSION_REGISTER, new byte[]{0x01, (byte) i});
+        }
+
+        //when
+        Ads1115Capture capture = ads1115.capture(Ads1115.Channel.A2, Ads1115.DataRate.SPS_860, Duration.ofMillis(50));
+
+        //then
+        assertEquals(43, capture.getSampleCount());
+        for (int i = 0; i < capture.getSampleCount(); i++) {
+            assertEquals(0x0100 + i, capture.getRawValue(i));
+        }
+        for (int i = 1; i < capture.getSampleCount(); i++) {
+            assertTrue(capture.getTimestamp(i) > capture.getTimestamp(i - 1));
+        }
+        //paced by the data rate, not read as fast as possible
+        long last = capture.getTimestamp(42);
+        assertTrue(last >= 43 * (1_000_000_000L / 860), "last: " + last);
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.DataRate.SPS_860.getConf(), config & Ads1115.DataRate.CLR_OTHER_CONF_PARAM.getConf());
+        assertEquals(Ads1115.OperationMode.CONTINUOUS.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+        assertEquals(Ads1115.MultiplexerConfig.AIN2_GND.getMux(), config & Ads1115.MultiplexerConfig.CLR_OTHER_CONF_PARAM.getMux());
+
+        //when
+        Path binary = directory.resolve("capture.bin");
+        Path csv    = directory.resolve("capture.csv");
+        capture.writeBinary(binary);
+        capture.writeCsv(csv);
+
+        //then
+        assertEquals(43L * Ads1115Capture.RECORD_SIZE, Files.size(binary));
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(44, lines.size());
+        assertTrue(lines.get(1).endsWith(",256,0.048000"), lines.get(1));
+    }
+
+    @Test
+    public void testRawValues() throws InterruptedException {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        Ads1115Simulator simulator = (Ads1115Simulator) adc.mock();
+        simulator.setInput(Ads1115.Channel.A0, 1000);
+        simulator.setInput(Ads1115.Channel.A1, -2000);
+        short[] counts = new short[2];
+
+        //when
+        adc.readRawValues(counts, Ads1115.Channel.A0, Ads1115.Channel.A1);
+
+        //then
+        assertArrayEquals(new short[]{1000, -2000}, counts);
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), adc.toVoltage(counts[0]), 1e-9);
+        assertEquals(1000, adc.toCounts(adc.toVoltage(1000)));
+        assertEquals(Short.MAX_VALUE, adc.toCounts(100.0));
+
+        //given
+        List<Integer> changes = new CopyOnWriteArrayList<>();
+        adc.onRawValueChange(Ads1115.Channel.A0, 50, changes::add);
+
+        //when
+        adc.startContinuousReading(0.1);
+        sleep(50);
+        simulator.setInput(Ads1115.Channel.A0, 1020);
+        sleep(50);
+        simulator.setInput(Ads1115.Channel.A0, 1100);
+        sleep(50);
+        adc.stopContinuousReading();
+        sleep(20);
+
+        //then
+        assertEquals(List.of(1000, 1100), changes);
+        assertEquals(1100, adc.getLatestRawValue(Ads1115.Channel.A0));
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testGainPerChannel() {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        Ads1115Simulator simulator = (Ads1115Simulator) adc.mock();
+        simulator.setInputVoltage(Ads1115.Channel.A0, 0.1);
+        simulator.setInputVoltage(Ads1115.Channel.A1, 3.0);
+        adc.setGain(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_0_256V);
+
+        //when
+        double[] voltages = adc.readValues(Ads1115.Channel.A0, Ads1115.Channel.A1);
+
+        //then
+        assertEquals(0.1, voltages[0], Ads1115.GAIN.GAIN_0_256V.gainPerBit());
+        assertEquals(3.0, voltages[1], Ads1115.GAIN.GAIN_6_144V.gainPerBit());
+        assertEquals(12800, adc.readRawValue(Ads1115.Channel.A0));
+        assertEquals(Ads1115.GAIN.GAIN_0_256V.gain(), simulator.getConfig() & Ads1115.PGA.CLR_OTHER_CONF_PARAM.getPga());
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testAutoRange() {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        Ads1115Simulator simulator = (Ads1115Simulator) adc.mock();
+        simulator.setInputVoltage(Ads1115.Channel.A0, 0.2);
+        adc.enableAutoRange(Ads1115.Channel.A0, 0.4, Ads1115.GAIN.GAIN_0_256V);
+
+        //when
+        double voltage = 0;
+        for (int i = 0; i < 24; i++) {
+            voltage = adc.readValue(Ads1115.Channel.A0);
+        }
+
+        //then small signal is measured with the most sensitive gain
+        assertEquals(Ads1115.GAIN.GAIN_0_256V, adc.getGain(Ads1115.Channel.A0));
+        assertEquals(0.2, voltage, Ads1115.GAIN.GAIN_0_256V.gainPerBit());
+
+        //when signal is clipped
+        simulator.setInputVoltage(Ads1115.Channel.A0, 1.0);
+        voltage = adc.readValue(Ads1115.Channel.A0);
+
+        //then
+        assertEquals(Ads1115.GAIN.GAIN_1_024V, adc.getGain(Ads1115.Channel.A0));
+        assertEquals(1.0, voltage, Ads1115.GAIN.GAIN_1_024V.gainPerBit());
+        assertThrows(IllegalStateException.class, () -> adc.onRawValueChange(Ads1115.Channel.A0, 10, counts -> {}));
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testConversionUsesGainOfSample() {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        ((Ads1115Simulator) adc.mock()).setInputVoltage(Ads1115.Channel.A0, 0.2);
+        adc.enableAutoRange(Ads1115.Channel.A0, 0.4, Ads1115.GAIN.GAIN_0_256V);
+
+        //when the last small value steps the gain
+        short counts = 0;
+        for (int i = 0; i < 4; i++) {
+            counts = adc.readRawValue(Ads1115.Channel.A0);
+        }
+
+        //then the value is still converted with the gain it was measured with
+        assertEquals(Ads1115.GAIN.GAIN_4_096V, adc.getGain(Ads1115.Channel.A0));
+        assertEquals(0.2, adc.toVoltage(Ads1115.Channel.A0, counts), Ads1115.GAIN.GAIN_6_144V.gainPerBit());
+        assertEquals(counts, adc.toCounts(Ads1115.Channel.A0, 0.2));
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testSharedSamplerReadsSeveralAdcs() throws InterruptedException {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 first  = new Ads1115(simulation);
+        Ads1115 second = new Ads1115(simulation, Ads1115.ADDRESS.VDD, Ads1115.GAIN.GAIN_6_144V);
+        ((Ads1115Simulator) first.mock()).setInput(Ads1115.Channel.A0, 1000);
+        ((Ads1115Simulator) second.mock()).setInput(Ads1115.Channel.A1, 2000);
+
+        List<Double> firstValues  = new CopyOnWriteArrayList<>();
+        List<Double> secondValues = new CopyOnWriteArrayList<>();
+        List<String> threads      = new CopyOnWriteArrayList<>();
+        first.onValueChange(Ads1115.Channel.A0, firstValues::add);
+        second.onValueChange(Ads1115.Channel.A1, secondValues::add);
+        first.addScanListener(() -> threads.add(Thread.currentThread().getName()));
+        second.addScanListener(() -> threads.add(Thread.currentThread().getName()));
+
+        //when
+        try (Ads1115Sampler sampler = new Ads1115Sampler(1)) {
+            first.startContinuousReading(0.1, sampler);
+            second.startContinuousReading(0.1, sampler);
+            sleep(100);
+            first.stopContinuousReading();
+            second.stopContinuousReading();
+        }
+
+        //then
+        assertEquals(List.of(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit()), firstValues);
+        assertEquals(List.of(2000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit()), secondValues);
+        assertTrue(threads.size() > 4, "scans: " + threads.size());
+        assertEquals(1, threads.stream().distinct().count());
+        assertThrows(IllegalStateException.class, () -> Ads1115Sampler.shared().close());
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testRestartOnSamplerRunsSingleScan() throws InterruptedException {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        ((Ads1115Simulator) adc.mock()).setInput(Ads1115.Channel.A0, 1000);
+        ((Ads1115Simulator) adc.mock()).setInput(Ads1115.Channel.A1, 2000);
+
+        List<Double> a0Values = new CopyOnWriteArrayList<>();
+        List<Double> a1Values = new CopyOnWriteArrayList<>();
+        adc.onValueChange(Ads1115.Channel.A0, a0Values::add);
+        adc.onValueChange(Ads1115.Channel.A1, a1Values::add);
+        CountDownLatch blocked = new CountDownLatch(1);
+
+        try (Ads1115Sampler sampler = new Ads1115Sampler(1)) {
+            //when stop and start happen before the first scan step runs
+            sampler.schedule(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0);
+            adc.startContinuousReading(0.1, sampler);
+            adc.stopContinuousReading();
+            adc.startContinuousReading(0.1, sampler);
+            blocked.countDown();
+            sleep(100);
+            adc.stopContinuousReading();
+        }
+
+        //then the steps of the first start don't interleave with the second one, each channel gets its own value
+        assertEquals(List.of(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit()), a0Values);
+        assertEquals(List.of(2000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit()), a1Values);
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testGroupReadsAllAdcs() throws InterruptedException {
+        //given
+        Ads1115 second = new Ads1115(pi4j, Ads1115.ADDRESS.VDD, Ads1115.GAIN.GAIN_6_144V);
+        for (int i = 0; i < 20; i++) {
+            mockI2C.writeRegister(CONVERSION_REGISTER, new byte[]{0x10, 0x00});
+            second.mock().writeRegister(CONVERSION_REGISTER, new byte[]{0x20, 0x00});
+        }
+
+        List<Double> firstValues  = new CopyOnWriteArrayList<>();
+        List<Double> secondValues = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, firstValues::add);
+        second.onValueChange(Ads1115.Channel.A2_A3, secondValues::add);
+
+        Ads1115Group group = new Ads1115Group(ads1115, second);
+
+        //when
+        group.startContinuousReading(0.1);
+        sleep(Duration.ofMillis(100).toMillis());
+        group.stopContinuousReading();
+
+        //then
+        assertEquals(0x1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), firstValues.get(0), 1e-9);
+        assertEquals(0x2000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), secondValues.get(0), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new Ads1115Group(ads1115, second, ads1115));
+    }
+
+    @Test
+    public void testAdcsOnDifferentBuses() {
+        //given
+        Ads1115 onBus3 = new Ads1115(pi4j, 3, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_6_144V);
 
+        //then
+        assertEquals(3, onBus3.getBus().getBus());
+        assertNotSame(ads1115.getBus(), onBus3.getBus());
+        assertDoesNotThrow(() -> new Ads1115Group(ads1115, onBus3));
+    }
+
+    @Test
+    public void testGroupReadsBusesInParallel() throws InterruptedException {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 onBus1 = new Ads1115(simulation, 1, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_6_144V);
+        Ads1115 onBus3 = new Ads1115(simulation, 3, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_6_144V);
+        onBus1.addChannel(Ads1115.Channel.A0);
+        onBus3.addChannel(Ads1115.Channel.A0);
+
+        //the reader of bus 1 is blocked in its first scan
+        AtomicInteger scansOnBus3 = new AtomicInteger();
+        int[] scansWhileBlocked = {-1};
+        onBus1.addScanListener(() -> {
+            if (scansWhileBlocked[0] < 0) {
+                int before = scansOnBus3.get();
+                try {
+                    sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                scansWhileBlocked[0] = scansOnBus3.get() - before;
+            }
+        });
+        onBus3.addScanListener(scansOnBus3::incrementAndGet);
+
+        Ads1115Group group = new Ads1115Group(onBus1, onBus3);
+
+        //when
+        group.startContinuousReading(0.1);
+        sleep(300);
+        group.stopContinuousReading();
+
+        //then bus 3 was read meanwhile
+        assertTrue(scansWhileBlocked[0] >= 3, "scans on bus 3: " + scansWhileBlocked[0]);
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testGroupCanBeRestartedAfterError() throws InterruptedException {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 onBus1 = new Ads1115(simulation, 1, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_6_144V);
+        Ads1115 onBus3 = new Ads1115(simulation, 3, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_6_144V);
+        onBus1.addChannel(Ads1115.Channel.A0);
+        onBus3.addChannel(Ads1115.Channel.A0);
+
+        //the first scan on bus 1 fails
+        boolean[] failed = {false};
+        onBus1.addScanListener(() -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                throw new IllegalStateException("scan failed");
+            }
+        });
+        Ads1115Group group = new Ads1115Group(onBus1, onBus3);
+
+        //when
+        group.startContinuousReading(0.1);
+        sleep(100);
+
+        //then the group and its ADCs are not active anymore
+        assertTrue(failed[0]);
+        assertDoesNotThrow(() -> onBus3.readValue(Ads1115.Channel.A1));
+        assertDoesNotThrow(() -> group.startContinuousReading(0.1));
+        group.stopContinuousReading();
+
+        simulation.shutdown();
+    }
+
+    @Test
+    public void testScanFindsKnownDevices() {
+        //when
+        List<I2CScanner.Device> devices = I2CScanner.scan(pi4j, 1);
+
+        //then
+        assertEquals(1, devices.size());
+        assertEquals(Ads1115.ADDRESS.GND.getAddress(), devices.get(0).getAddress());
+        assertEquals(List.of(Ads1115.class), devices.get(0).getCandidates());
+    }
+
+    @Test
+    public void testPipelinedScanIsFaster() {
+        //given
+        Context simulation = Pi4J.newContextBuilder()
+                .add(new MockPlatform())
+                .add(new Ads1115Simulator.Provider())
+                .build();
+        Ads1115 adc = new Ads1115(simulation);
+        Ads1115Simulator simulator = (Ads1115Simulator) adc.mock();
+        Ads1115.Channel[] channels = {Ads1115.Channel.A0, Ads1115.Channel.A1, Ads1115.Channel.A2, Ads1115.Channel.A3};
+        for (int i = 0; i < channels.length; i++) {
+            simulator.setInput(channels[i], 1000 * (i + 1));
+        }
+        int rounds = 10;
+
+        //when
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (Ads1115.Channel channel : channels) {
+                adc.readValue(channel);
+            }
+        }
+        long sequential = System.nanoTime() - start;
+
+        double[] voltages = null;
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            voltages = adc.readValues(channels);
+        }
+        long pipelined = System.nanoTime() - start;
+
+        //then
+        for (int i = 0; i < channels.length; i++) {
+            assertEquals(1000 * (i + 1) * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltages[i], 1e-9);
+        }
+        assertTrue(pipelined < sequential, "pipelined: " + pipelined / 1_000_000 + "ms, sequential: " + sequential / 1_000_000 + "ms");
+
+        simulation.shutdown();
+    }
 }
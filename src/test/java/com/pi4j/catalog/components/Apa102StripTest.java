@@ -0,0 +1,62 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.io.spi.SpiBus;
+import com.pi4j.plugin.mock.provider.spi.MockSpi;
+
+import com.pi4j.catalog.ComponentTest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Apa102StripTest extends ComponentTest {
+
+    private Apa102Strip strip;
+
+    @BeforeEach
+    public void setUp() {
+        strip = new Apa102Strip(pi4j, 2, 1.0, SpiBus.BUS_0, 0, 8_000_000);
+        strip.setGamma(1.0);
+    }
+
+    @Test
+    public void testRenderSendsFourBytesPerLed() {
+        //given
+        MockSpi spi = strip.mock();
+
+        //when
+        strip.setPixelColor(0, 0x8001FF);
+        strip.render(Duration.ZERO);
+
+        //then
+        byte[] expected = {0, 0, 0, 0,
+                (byte) 0xFF, (byte) 0xFF, 0x01, (byte) 0x80,   // full brightness, blue, green, red
+                (byte) 0xFF, 0, 0, 0,
+                0, 0, 0, 0,
+                0};
+        assertArrayEquals(expected, spi.readEntireMockBuffer());
+    }
+
+    @Test
+    public void testBrightnessUsesBrightnessControl() {
+        //given
+        MockSpi spi = strip.mock();
+
+        //when
+        strip.setMaxBrightness(0.5);
+        strip.setPixelColor(1, 0x80FF00);
+        strip.render(Duration.ZERO);
+
+        //then level 16 of 31, the colors are scaled by the remaining 0.5 * 31 / 16
+        byte[] frame = spi.readEntireMockBuffer();
+        assertEquals((byte) 0xF0, frame[8]);
+        assertEquals(0, frame[9]);
+        assertEquals((byte) 247, frame[10]);
+        assertEquals((byte) 124, frame[11]);
+        assertEquals(0x80FF00, strip.getPixelColor(1));
+    }
+}
@@ -1,19 +1,148 @@
 package com.pi4j.catalog.components;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-
-import java.time.Duration;
 
 import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.helpers.InputShaping;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.*;
 
 public class JoystickAnalogTest extends ComponentTest {
 
+    private Ads1115 ads1115;
+    private JoystickAnalog joystick;
+
+    private final List<double[]> moves = new ArrayList<>();
+    private int centerCount;
+
+    @BeforeEach
+    public void setUp() {
+        ads1115 = new Ads1115(pi4j);
+        Potentiometer x = new Potentiometer(ads1115, Ads1115.Channel.A0, Potentiometer.Range.MINUS_ONE_TO_ONE);
+        Potentiometer y = new Potentiometer(ads1115, Ads1115.Channel.A1, Potentiometer.Range.MINUS_ONE_TO_ONE);
+        x.setCalibration(new Potentiometer.Calibration(0.0, 1.5, 3.0));
+        y.setCalibration(new Potentiometer.Calibration(0.0, 1.5, 3.0));
+
+        joystick = new JoystickAnalog(ads1115, x, y, 0.05, null);
+        joystick.onMove((xPos, yPos) -> moves.add(new double[]{xPos, yPos}), () -> centerCount++);
+    }
+
+    @Test
+    public void testOneNotificationPerScan() {
+        //given
+        joystick.setInputShaping(InputShaping.none());
+
+        //when
+        ads1115.processRawValue(Ads1115.Channel.A0, counts(3.0), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A1, counts(0.75), 0.1);
+        ads1115.scanComplete();
+
+        //then
+        assertEquals(1, moves.size());
+        assertEquals(1.0, moves.get(0)[0], 1e-9);
+        assertEquals(0.5, moves.get(0)[1], 1e-9);
+        assertEquals(1.0, joystick.getPosition().getX(), 1e-9);
+        assertEquals(0.5, joystick.getPosition().getY(), 1e-9);
+
+        //when only one axis changes, the other one keeps its value of the same scan
+        ads1115.processRawValue(Ads1115.Channel.A0, counts(2.25), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A1, counts(0.75), 0.1);
+        ads1115.scanComplete();
+
+        //then
+        assertEquals(2, moves.size());
+        assertEquals(0.5, moves.get(1)[0], 1e-9);
+        assertEquals(0.5, moves.get(1)[1], 1e-9);
+    }
+
+    @Test
+    public void testHomePosition() {
+        //when the stick rests in the home position for several scans
+        for (int scan = 0; scan < 5; scan++) {
+            ads1115.processRawValue(Ads1115.Channel.A0, counts(1.5), 0.1);
+            ads1115.processRawValue(Ads1115.Channel.A1, counts(1.5), 0.1);
+            ads1115.scanComplete();
+        }
+
+        //then
+        assertEquals(0, moves.size());
+        assertEquals(1, centerCount);
+
+        //when it's moved and returns
+        ads1115.processRawValue(Ads1115.Channel.A0, counts(3.0), 0.1);
+        ads1115.scanComplete();
+        for (int scan = 0; scan < 5; scan++) {
+            ads1115.processRawValue(Ads1115.Channel.A0, counts(1.5), 0.1);
+            ads1115.scanComplete();
+        }
+
+        //then
+        assertEquals(1, moves.size());
+        assertEquals(2, centerCount);
+    }
+
+    @Test
+    public void testDefaultDeadZone() {
+        //when
+        ads1115.processRawValue(Ads1115.Channel.A0, counts(1.62), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A1, counts(0.75), 0.1);
+        ads1115.scanComplete();
+
+        //then x is within the dead zone, y is rescaled to the remaining range
+        assertEquals(1, moves.size());
+        assertEquals(0.0, moves.get(0)[0], 1e-9);
+        assertEquals((0.5 - 0.1) / 0.9, moves.get(0)[1], 1e-6);
+    }
+
+    @Test
+    public void testSharedAdc() {
+        //given
+        Potentiometer x = new Potentiometer(ads1115, Ads1115.Channel.A2, Potentiometer.Range.MINUS_ONE_TO_ONE);
+        Potentiometer y = new Potentiometer(ads1115, Ads1115.Channel.A3, Potentiometer.Range.MINUS_ONE_TO_ONE);
+        x.setCalibration(new Potentiometer.Calibration(0.0, 1.5, 3.0));
+        y.setCalibration(new Potentiometer.Calibration(0.0, 1.5, 3.0));
+        JoystickAnalog second = new JoystickAnalog(ads1115, x, y, 0.05, null);
+        List<double[]> secondMoves = new ArrayList<>();
+        second.onMove((xPos, yPos) -> secondMoves.add(new double[]{xPos, yPos}), () -> {});
+        int[] scans = new int[1];
+        ads1115.addScanListener(() -> scans[0]++);
+
+        //when
+        ads1115.processRawValue(Ads1115.Channel.A0, counts(3.0), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A1, counts(1.5), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A2, counts(1.5), 0.1);
+        ads1115.processRawValue(Ads1115.Channel.A3, counts(0.0), 0.1);
+        ads1115.scanComplete();
+
+        //then all listeners are called
+        assertEquals(1, moves.size());
+        assertEquals(1, secondMoves.size());
+        assertEquals(1.0, secondMoves.get(0)[1], 1e-9);
+        assertEquals(1, scans[0]);
+
+        //when
+        joystick.reset();
+        ads1115.processRawValue(Ads1115.Channel.A3, counts(3.0), 0.1);
+        ads1115.scanComplete();
+
+        //then only the listener of the first joystick is removed
+        assertEquals(1, moves.size());
+        assertEquals(2, secondMoves.size());
+        assertEquals(-1.0, secondMoves.get(1)[1], 1e-9);
+        assertEquals(2, scans[0]);
+    }
 
+    @Test
+    public void testBothChannelsAreRead() {
+        assertEquals(List.of(Ads1115.Channel.A0, Ads1115.Channel.A1),
+                     ads1115.channelsInUse().stream().sorted().toList());
+    }
 
+    private short counts(double voltage) {
+        return (short) ads1115.toCounts(voltage);
+    }
 }
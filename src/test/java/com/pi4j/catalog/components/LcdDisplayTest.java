@@ -1,5 +1,7 @@
 package com.pi4j.catalog.components;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -7,7 +9,9 @@ import com.pi4j.plugin.mock.provider.i2c.MockI2C;
 
 import com.pi4j.catalog.ComponentTest;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class LcdDisplayTest extends ComponentTest {
@@ -42,4 +46,22 @@ public class LcdDisplayTest extends ComponentTest {
         // then
         assertThrows(IllegalArgumentException.class, () -> lcd216Display.clearLine(3));
     }
+
+    @Test
+    public void testLineIsWrittenInSingleTransaction() {
+        //given
+        long before = lcd420Display.getTransactionCount();
+        i2c.read(new byte[1024], 0, 1024); //drop init sequence
+
+        //when
+        lcd420Display.displayLineOfText("Hello", 1);
+
+        //then
+        assertEquals(1, lcd420Display.getTransactionCount() - before);
+        byte[] sent = new byte[1024];
+        // cursor command plus 20 characters, 4 bytes each
+        assertEquals(4 * 21, i2c.read(sent, 0, sent.length));
+        // 'H' = 0x48, Rs set, backlight on, enable pulse for each nibble
+        assertArrayEquals(new byte[]{0x4D, 0x49, (byte) 0x8D, (byte) 0x89}, Arrays.copyOfRange(sent, 4, 8));
+    }
 }
@@ -0,0 +1,135 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.LedAnimator.BlendMode;
+import com.pi4j.catalog.components.LedStrip.LedColor;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LedAnimatorTest extends ComponentTest {
+
+    private LedStrip strip;
+    private LedAnimator animator;
+
+    @BeforeEach
+    public void setUp() {
+        strip = new LedStrip(pi4j, 10);
+        animator = new LedAnimator(10);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        animator.reset();
+    }
+
+    @Test
+    public void testWipeOverSolidLayer() {
+        //given
+        animator.addLayer(strip, LedEffect.solid(LedColor.BLUE), BlendMode.REPLACE);
+        animator.addLayer(strip, LedEffect.wipe(LedColor.RED, Duration.ofSeconds(1)), BlendMode.NORMAL);
+
+        //when
+        for (int i = 0; i <= 3; i++) {
+            animator.drawFrame();
+        }
+
+        //then after 300ms
+        for (int pixel = 0; pixel < 10; pixel++) {
+            assertEquals(pixel < 3 ? LedColor.RED : LedColor.BLUE, strip.getPixelColor(pixel), "pixel " + pixel);
+        }
+    }
+
+    @Test
+    public void testBlendModes() {
+        //given
+        animator.addLayer(strip, LedEffect.solid(0x804020), BlendMode.REPLACE);
+        LedAnimator.Layer top = animator.addLayer(strip, LedEffect.solid(0x90FF00), BlendMode.ADD);
+
+        //when
+        animator.drawFrame();
+
+        //then
+        assertEquals(0xFFFF20, strip.getPixelColor(0));
+
+        //when
+        top.setBlendMode(BlendMode.MAX);
+        animator.drawFrame();
+
+        //then
+        assertEquals(0x90FF20, strip.getPixelColor(0));
+
+        //when
+        top.setBlendMode(BlendMode.MULTIPLY);
+        animator.drawFrame();
+
+        //then
+        assertEquals(0x484000, strip.getPixelColor(0));
+
+        //when
+        top.setVisible(false);
+        animator.drawFrame();
+
+        //then
+        assertEquals(0x804020, strip.getPixelColor(0));
+    }
+
+    @Test
+    public void testEffects() {
+        //given
+        int[] pixels = new int[8];
+
+        //when
+        LedEffect.chase(LedColor.GREEN, 1, 3, Duration.ofMillis(100)).draw(pixels, 100_000_000L);
+
+        //then
+        assertEquals(0, pixels[0]);
+        assertEquals(LedColor.GREEN, pixels[1]);
+        assertEquals(LedColor.GREEN, pixels[4]);
+        assertEquals(0, pixels[5]);
+
+        //when
+        LedEffect.fade(LedColor.WHITE, 0, Duration.ofSeconds(1)).draw(pixels, 500_000_000L);
+
+        //then
+        assertEquals(0x7F7F7F, pixels[7]);
+
+        //when
+        LedEffect.rainbow(Duration.ofSeconds(1)).draw(pixels, 0);
+
+        //then
+        assertEquals(LedColor.wheel(0), pixels[0]);
+        assertEquals(LedColor.wheel(128), pixels[4]);
+    }
+
+    @Test
+    public void testAnimatesSeveralStrips() throws InterruptedException {
+        //given
+        LedStrip second = new LedStrip(pi4j, 5, 0.2, 1);
+        animator.addLayer(strip, LedEffect.rainbow(Duration.ofSeconds(1)), BlendMode.REPLACE);
+        animator.addLayer(second, LedEffect.sparkle(LedColor.WHITE, 0.5, 0.5), BlendMode.REPLACE);
+
+        //when
+        animator.start();
+        sleep(350);
+        animator.stop();
+
+        //then
+        long frames = animator.getFrameCount();
+        assertTrue(frames >= 3 && frames <= 5, "frames: " + frames);
+        assertNotEquals(LedColor.wheel(0), strip.getPixelColor(0));
+        boolean sparkling = false;
+        for (int pixel = 0; pixel < 5; pixel++) {
+            sparkling |= second.getPixelColor(pixel) != 0;
+        }
+        assertTrue(sparkling);
+    }
+}
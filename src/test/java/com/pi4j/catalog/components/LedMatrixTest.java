@@ -0,0 +1,62 @@
+package com.pi4j.catalog.components;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.LedMatrix.Orientation;
+import com.pi4j.catalog.components.LedMatrix.Wiring;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LedMatrixTest extends ComponentTest {
+
+    @Test
+    public void testSerpentineRows() {
+        //given
+        LedMatrix matrix = new LedMatrix(pi4j, 2, 5);
+
+        //when
+        matrix.allOff();
+        matrix.setRowColor(1, LedStrip.LedColor.GREEN);
+        matrix.setPixelColor(0, 1, LedStrip.LedColor.RED);
+
+        //then
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 9, 8, 7, 6, 5}, matrix.getStripPositions());
+        LedStrip strip = matrix.getLedStrip();
+        assertEquals(LedStrip.LedColor.RED, strip.getPixelColor(1));
+        for (int column = 0; column < 5; column++) {
+            assertEquals(LedStrip.LedColor.GREEN, matrix.getPixelColor(1, column));
+            assertEquals(LedStrip.LedColor.GREEN, strip.getPixelColor(5 + column));
+        }
+    }
+
+    @Test
+    public void testRotatedAndFlippedLayouts() {
+        //when
+        int[] rotated = LedMatrix.positionsOnStrip(2, 3, Wiring.PROGRESSIVE, Orientation.ROTATED_90, false);
+
+        //then panel of 3 rows with 2 LEDs
+        assertArrayEquals(new int[]{1, 3, 5, 0, 2, 4}, rotated);
+
+        //when
+        int[] flipped = LedMatrix.positionsOnStrip(2, 3, Wiring.SERPENTINE, Orientation.ROTATED_180, true);
+
+        //then the same as mirrored vertically
+        assertArrayEquals(new int[]{5, 4, 3, 0, 1, 2}, flipped);
+
+        //when all combinations are used, each LED of the strip is used exactly once
+        for (Wiring wiring : Wiring.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                for (boolean flip : new boolean[]{false, true}) {
+                    int[] positions = LedMatrix.positionsOnStrip(3, 4, wiring, orientation, flip);
+                    Arrays.sort(positions);
+                    assertArrayEquals(IntStream.range(0, 12).toArray(), positions, wiring + " " + orientation);
+                }
+            }
+        }
+    }
+}
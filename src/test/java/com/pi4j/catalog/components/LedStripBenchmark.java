@@ -0,0 +1,235 @@
+package com.pi4j.catalog.components;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.Pi4J;
+import com.pi4j.context.Context;
+import com.pi4j.io.spi.Spi;
+import com.pi4j.io.spi.SpiConfig;
+import com.pi4j.plugin.mock.platform.MockPlatform;
+import com.pi4j.plugin.mock.provider.spi.MockSpi;
+import com.pi4j.plugin.mock.provider.spi.MockSpiProviderImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the rendering of LED strips with 50, 300 and 1000 LEDs. The SPI discards the data, so only the work of
+ * the Pi is measured, the time on the wire is computed from the baud rate.
+ * <p>
+ * Not part of the unit tests (the class name doesn't end with 'Test'), run it with
+ * {@code mvn test -Dtest=LedStripBenchmark}. Each measurement runs after a warm-up, the results are printed as tables.
+ */
+public class LedStripBenchmark {
+    private static final int[] SIZES = {50, 300, 1000};
+    private static final int WARM_UP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 20_000;
+
+    /**
+     * ThreadMXBean and its method getCurrentThreadAllocatedBytes(), called by reflection: the module of the
+     * components doesn't read the management modules
+     */
+    private static final Object THREADS;
+    private static final Method ALLOCATED_BYTES;
+
+    static {
+        try {
+            THREADS = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+            ALLOCATED_BYTES = Class.forName("com.sun.management.ThreadMXBean").getMethod("getCurrentThreadAllocatedBytes");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't measure allocated memory", e);
+        }
+    }
+
+    /**
+     * Frames per second and memory allocated per frame of {@link LedStrip#render(Duration)}, all pixels change in
+     * each frame.
+     */
+    @Test
+    public void renderFrames() {
+        System.out.println("LEDs    frames/s    us/frame  bytes allocated/frame");
+        for (int leds : SIZES) {
+            Context pi4j = newContext();
+            LedStrip strip = new LedStrip(pi4j, leds, 1.0, 0);
+
+            for (int frame = 0; frame < WARM_UP_FRAMES; frame++) {
+                drawAndRender(strip, frame);
+            }
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                drawAndRender(strip, frame);
+            }
+            long nanos = System.nanoTime() - start;
+            allocated = allocatedBytes() - allocated;
+
+            System.out.printf("%4d  %10.0f  %10.1f  %21.1f%n",
+                              leds, MEASURED_FRAMES * 1e9 / nanos, nanos / 1e3 / MEASURED_FRAMES,
+                              (double) allocated / MEASURED_FRAMES);
+            assertTrue(allocated < MEASURED_FRAMES, "rendering allocates " + allocated + " bytes");
+
+            pi4j.shutdown();
+        }
+    }
+
+    /**
+     * Time to encode all pixels of a frame and SPI data per frame: the branches of the original implementation
+     * against the tables of {@link LedStrip.Encoding#BYTE_PER_BIT} and {@link LedStrip.Encoding#THREE_BITS_PER_BIT}.
+     */
+    @Test
+    public void compareEncodings() {
+        System.out.println("LEDs  encoding                 encode us/frame  wire bytes/frame  wire ms/frame");
+        for (int leds : SIZES) {
+            //same SPI data as BYTE_PER_BIT
+            System.out.printf("%4d  %-22s  %15.1f%n", leds, "branches (original)", encodeWithBranches(leds));
+
+            for (LedStrip.Encoding encoding : LedStrip.Encoding.values()) {
+                Context pi4j = newContext();
+                LedStrip strip = new LedStrip(pi4j, leds, 1.0, 0, encoding);
+
+                double encodeMicros = encodeWithTables(strip);
+                DiscardingSpi spi = (DiscardingSpi) strip.mock();
+                long written = spi.getBytesWritten();
+                strip.render(Duration.ZERO);
+                long wireBytes = spi.getBytesWritten() - written;
+                assertEquals(encoding.getBytesPerLed() * leds + 2, wireBytes);
+
+                System.out.printf("%4d  %-22s  %15.1f  %16d  %13.1f%n",
+                                  leds, encoding, encodeMicros, wireBytes, wireBytes * 8 * 1e3 / encoding.getBaud());
+
+                pi4j.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @return memory allocated by the current thread so far
+     */
+    private static long allocatedBytes() {
+        try {
+            return (long) ALLOCATED_BYTES.invoke(THREADS);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't measure allocated memory", e);
+        }
+    }
+
+    private static void drawAndRender(LedStrip strip, int frame) {
+        int leds = strip.getNumPixels();
+        for (int pixel = 0; pixel < leds; pixel++) {
+            strip.setPixelColor(pixel, (frame + pixel) & 0xFFFFFF);
+        }
+        strip.render(Duration.ZERO);
+    }
+
+    /**
+     * @return microseconds to encode all pixels
+     */
+    private static double encodeWithTables(LedStrip strip) {
+        for (int frame = 0; frame < WARM_UP_FRAMES; frame++) {
+            strip.setStripColor(frame & 0xFFFFFF);
+            strip.encodeFrame();
+        }
+        long start = System.nanoTime();
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            strip.setStripColor(frame & 0xFFFFFF);
+            strip.encodeFrame();
+        }
+        return (System.nanoTime() - start) / 1e3 / MEASURED_FRAMES;
+    }
+
+    /**
+     * The encoding of the original implementation, each bit is checked on its own
+     *
+     * @return microseconds to encode all pixels
+     */
+    private static double encodeWithBranches(int leds) {
+        int[] colors = new int[leds];
+        byte[] frame = new byte[24 * leds + 2];
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            Arrays.fill(colors, i & 0xFFFFFF);
+            encodeWithBranches(colors, frame);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            Arrays.fill(colors, i & 0xFFFFFF);
+            encodeWithBranches(colors, frame);
+        }
+        long nanos = System.nanoTime() - start;
+        //uses the result, the encoding mustn't be optimized away
+        assertEquals((byte) 0b11111000, frame[frame.length - 2]);
+
+        return nanos / 1e3 / MEASURED_FRAMES;
+    }
+
+    private static void encodeWithBranches(int[] colors, byte[] frame) {
+        final byte bit0 = (byte) 0b11000000;
+        final byte bit1 = (byte) 0b11111000;
+        int counter = 1;
+        for (int color : colors) {
+            // Calculating GRB from RGB
+            for (int j = 15; j >= 8; j--) {
+                if (((color >> j) & 1) == 1) {
+                    frame[counter++] = bit1;
+                } else {
+                    frame[counter++] = bit0;
+                }
+            }
+            for (int j = 23; j >= 16; j--) {
+                if (((color >> j) & 1) == 1) {
+                    frame[counter++] = bit1;
+                } else {
+                    frame[counter++] = bit0;
+                }
+            }
+            for (int j = 7; j >= 0; j--) {
+                if (((color >> j) & 1) == 1) {
+                    frame[counter++] = bit1;
+                } else {
+                    frame[counter++] = bit0;
+                }
+            }
+        }
+    }
+
+    private static Context newContext() {
+        return Pi4J.newContextBuilder()
+                   .add(new MockPlatform())
+                   .add(new DiscardingSpi.Provider())
+                   .build();
+    }
+
+    /**
+     * SPI counting the bytes written instead of keeping them, a long benchmark would fill the buffer of the mock
+     */
+    public static class DiscardingSpi extends MockSpi {
+        private long bytesWritten;
+
+        public DiscardingSpi(Provider provider, SpiConfig config) {
+            super(provider, config);
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        @Override
+        public int write(byte[] data, int offset, int length) {
+            bytesWritten += length;
+            return length;
+        }
+
+        /**
+         * Replaces the default mock SPI provider
+         */
+        public static class Provider extends MockSpiProviderImpl {
+            @Override
+            public Spi create(SpiConfig config) {
+                return new DiscardingSpi(this, config);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.io.spi.SpiBus;
+import com.pi4j.plugin.mock.provider.spi.MockSpi;
+
+import com.pi4j.catalog.ComponentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LedStripControllerTest extends ComponentTest {
+
+    private LedStrip first;
+    private LedStrip second;
+    private LedStripController controller;
+
+    @BeforeEach
+    public void setUp() {
+        first  = new LedStrip(pi4j, 10, 1.0, SpiBus.BUS_0, 0, LedStrip.Encoding.BYTE_PER_BIT);
+        second = new LedStrip(pi4j, 20, 1.0, SpiBus.BUS_1, 0, LedStrip.Encoding.BYTE_PER_BIT);
+        controller = new LedStripController(first, second);
+    }
+
+    @Test
+    public void testRenderSendsAllStrips() {
+        //given
+        MockSpi firstSpi = first.mock();
+        MockSpi secondSpi = second.mock();
+        firstSpi.readEntireMockBuffer();
+        secondSpi.readEntireMockBuffer();
+        first.setStripColor(LedStrip.LedColor.RED);
+        second.setStripColor(LedStrip.LedColor.BLUE);
+
+        //when
+        controller.render(Duration.ZERO);
+
+        //then
+        assertEquals(SpiBus.BUS_0, first.getBus());
+        assertEquals(10 * 24 + 2, firstSpi.readEntireMockBuffer().length);
+        assertEquals(20 * 24 + 2, secondSpi.readEntireMockBuffer().length);
+        assertEquals(20, second.getEncodedPixels());
+
+        //when
+        second.setPixelColor(3, LedStrip.LedColor.GREEN);
+        controller.render(Duration.ZERO);
+
+        //then
+        assertEquals(0, first.getEncodedPixels());
+        assertEquals(1, second.getEncodedPixels());
+        assertEquals(10 * 24 + 2, firstSpi.readEntireMockBuffer().length);
+    }
+
+    @Test
+    public void testNoRenderInAsynchronousMode() {
+        //when
+        second.startRendering(50);
+
+        //then
+        assertThrows(IllegalStateException.class, () -> controller.render(Duration.ZERO));
+
+        //when
+        controller.reset();
+
+        //then
+        assertThrows(IllegalStateException.class, () -> controller.render(Duration.ZERO));
+    }
+}
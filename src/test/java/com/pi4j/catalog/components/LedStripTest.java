@@ -1,5 +1,8 @@
 package com.pi4j.catalog.components;
 
+import java.time.Duration;
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -7,7 +10,12 @@ import com.pi4j.plugin.mock.provider.spi.MockSpi;
 
 import com.pi4j.catalog.ComponentTest;
 
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class LedStripTest extends ComponentTest {
 
@@ -49,6 +57,230 @@ public class LedStripTest extends ComponentTest {
         }
     }
 
+    @Test
+    public void testRenderEncodesEachBitAsByte() {
+        //given
+        MockSpi spi = strip.mock();
+        strip.setMaxBrightness(1.0);
+        strip.setGamma(1.0);
+        strip.allOff();
+        strip.setPixelColor(0, LedStrip.LedColor.WHITE);
+        strip.render(Duration.ZERO);
+        spi.readEntireMockBuffer();
+
+        //when
+        strip.setPixelColor(0, 0x8001FF);
+        strip.render(Duration.ZERO);
+
+        //then
+        byte[] frame = spi.readEntireMockBuffer();
+        assertEquals(3 * 8 * pixels + 2, frame.length);
+        byte o = (byte) 0b11000000;
+        byte l = (byte) 0b11111000;
+        byte[] expected = {0,
+                o, o, o, o, o, o, o, l,   // green 0x01
+                l, o, o, o, o, o, o, o,   // red   0x80
+                l, l, l, l, l, l, l, l,   // blue  0xFF
+                o};
+        byte[] firstPixel = new byte[expected.length];
+        System.arraycopy(frame, 0, firstPixel, 0, expected.length);
+        assertArrayEquals(expected, firstPixel);
+        assertEquals(0, frame[frame.length - 1]);
+    }
+
+    @Test
+    public void testRenderEncodesChangedPixelsOnly() {
+        //given
+        MockSpi spi = strip.mock();
+        spi.readEntireMockBuffer();
+        strip.setMaxBrightness(1.0);
+        strip.setStripColor(LedStrip.LedColor.BLUE);
+        strip.render(Duration.ZERO);
+        assertEquals(pixels, strip.getEncodedPixels());
+        byte[] before = spi.readEntireMockBuffer();
+
+        //when
+        strip.setPixelColor(3, LedStrip.LedColor.RED);
+        strip.setPixelColor(4, LedStrip.LedColor.BLUE);
+        strip.setPixelColor(7, LedStrip.LedColor.GREEN);
+        strip.render(Duration.ZERO);
+
+        //then
+        assertEquals(2, strip.getEncodedPixels());
+        byte[] after = spi.readEntireMockBuffer();
+        for (int pixel = 0; pixel < pixels; pixel++) {
+            boolean changed = pixel == 3 || pixel == 7;
+            boolean equal = true;
+            for (int i = 1 + pixel * 24; i < 1 + (pixel + 1) * 24; i++) {
+                equal &= before[i] == after[i];
+            }
+            assertEquals(!changed, equal, "pixel " + pixel);
+        }
+
+        //when nothing changed
+        strip.render(Duration.ZERO);
+
+        //then
+        assertEquals(0, strip.getEncodedPixels());
+        assertArrayEquals(after, spi.readEntireMockBuffer());
+    }
+
+    @Test
+    public void testRenderAppliesBrightnessAndGamma() {
+        //given
+        LedStrip packed = new LedStrip(pi4j, 1, 0.5, 1, LedStrip.Encoding.THREE_BITS_PER_BIT);
+        MockSpi spi = packed.mock();
+        spi.readEntireMockBuffer();
+
+        //when
+        packed.setPixelColor(0, 0xFF8000);
+        packed.render(Duration.ZERO);
+
+        //then 0xFF -> 128, 0x80 -> 28 with brightness 0.5 and gamma 2.2
+        assertEquals(0xFF8000, packed.getPixelColor(0));
+        byte[] expected = {0,
+                (byte) 0b10010010, (byte) 0b01101101, (byte) 0b10100100,   // green 28
+                (byte) 0b11010010, (byte) 0b01001001, (byte) 0b00100100,   // red   128
+                (byte) 0b10010010, (byte) 0b01001001, (byte) 0b00100100,   // blue  0
+                0};
+        assertArrayEquals(expected, spi.readEntireMockBuffer());
+    }
+
+    @Test
+    public void testBrightnessKeepsColors() {
+        //given
+        MockSpi spi = strip.mock();
+        spi.readEntireMockBuffer();
+        strip.setMaxBrightness(1.0);
+        strip.setStripColor(LedStrip.LedColor.PINK);
+        strip.render(Duration.ZERO);
+        byte[] bright = spi.readEntireMockBuffer();
+
+        //when
+        strip.setMaxBrightness(0.01);
+        strip.render(Duration.ZERO);
+
+        //then all pixels are encoded again, without setting them
+        assertEquals(pixels, strip.getEncodedPixels());
+        assertEquals(LedStrip.LedColor.PINK, strip.getPixelColor(0));
+        byte[] dark = spi.readEntireMockBuffer();
+        assertNotEquals(bright[1], dark[1]);
+
+        //when
+        strip.setMaxBrightness(1.0);
+        strip.render(Duration.ZERO);
+
+        //then nothing is lost
+        assertArrayEquals(bright, spi.readEntireMockBuffer());
+    }
+
+    @Test
+    public void testBrightnessIsSwappedWithFrame() throws InterruptedException {
+        //given
+        MockSpi spi = strip.mock();
+        spi.readEntireMockBuffer();
+        strip.setMaxBrightness(1.0);
+        strip.setStripColor(LedStrip.LedColor.WHITE);
+        strip.render(Duration.ZERO);
+        byte[] bright = spi.readEntireMockBuffer();
+        strip.startRendering(50);
+
+        //when
+        strip.setMaxBrightness(0.25);
+        strip.swap();
+        awaitSwappedFrames(1);
+        strip.setMaxBrightness(1.0);
+        strip.swap();
+        awaitSwappedFrames(2);
+        strip.stopRendering();
+
+        //then nothing is sent before the swap, the brightness changes with the frame
+        assertEquals(2, strip.getRenderedFrames());
+        byte[] frames = spi.readEntireMockBuffer();
+        assertEquals(2 * bright.length, frames.length);
+        assertNotEquals(bright[1], frames[1]);
+        assertEquals(bright[1], frames[bright.length + 1]);
+    }
+
+    @Test
+    public void testAsynchronousRendering() throws InterruptedException {
+        //given
+        MockSpi spi = strip.mock();
+        spi.readEntireMockBuffer();
+        strip.setMaxBrightness(1.0);
+        strip.setStripColor(LedStrip.LedColor.BLUE);
+        strip.render(Duration.ZERO);
+        byte[] blue = spi.readEntireMockBuffer();
+        assertThrows(IllegalStateException.class, strip::swap);
+
+        //when
+        strip.startRendering(50);
+        strip.setPixelColor(2, LedStrip.LedColor.RED);
+        strip.swap();
+        awaitSwappedFrames(1);
+
+        //then only swapped frames are sent
+        assertEquals(1, strip.getRenderedFrames());
+        byte[] frame = spi.readEntireMockBuffer();
+        assertEquals(blue.length, frame.length);
+        assertEquals(blue[1], frame[1]);
+        assertEquals(blue[blue.length - 2], frame[frame.length - 2]);
+        assertThrows(IllegalStateException.class, () -> strip.render(Duration.ZERO));
+
+        //when drawing faster than the frame rate
+        strip.setPixelColor(2, LedStrip.LedColor.GREEN);
+        strip.swap();
+        strip.setPixelColor(2, LedStrip.LedColor.BLUE);
+        strip.swap();
+        awaitSwappedFrames(3);
+        strip.stopRendering();
+
+        //then each frame is either sent or dropped, the last one is sent
+        long rendered = strip.getRenderedFrames();
+        assertEquals(3, rendered + strip.getDroppedFrames());
+        byte[] frames = spi.readEntireMockBuffer();
+        assertEquals((rendered - 1) * blue.length, frames.length);
+        assertArrayEquals(blue, Arrays.copyOfRange(frames, frames.length - blue.length, frames.length));
+    }
+
+    /**
+     * Waits until the render thread has sent or dropped the given number of swapped frames.
+     */
+    private void awaitSwappedFrames(long frames) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (strip.getRenderedFrames() + strip.getDroppedFrames() < frames) {
+            assertTrue(System.nanoTime() < deadline, "frames sent: " + strip.getRenderedFrames());
+            sleep(1);
+        }
+    }
+
+    @Test
+    public void testThreeBitsPerBitEncoding() {
+        //given
+        LedStrip packed = new LedStrip(pi4j, 2, 1.0, 1, LedStrip.Encoding.THREE_BITS_PER_BIT);
+        MockSpi spi = packed.mock();
+        spi.readEntireMockBuffer();
+        packed.setGamma(1.0);
+
+        //when
+        packed.allOff();
+        packed.setPixelColor(0, 0x8001FF);
+        packed.render(Duration.ZERO);
+
+        //then
+        byte[] frame = spi.readEntireMockBuffer();
+        assertEquals(2 * 9 + 2, frame.length);
+        byte[] expected = {0,
+                (byte) 0b10010010, (byte) 0b01001001, (byte) 0b00100110,   // green 0x01
+                (byte) 0b11010010, (byte) 0b01001001, (byte) 0b00100100,   // red   0x80
+                (byte) 0b11011011, (byte) 0b01101101, (byte) 0b10110110,   // blue  0xFF
+                (byte) 0b10010010};
+        byte[] firstPixel = new byte[expected.length];
+        System.arraycopy(frame, 0, firstPixel, 0, expected.length);
+        assertArrayEquals(expected, firstPixel);
+        assertEquals(2_400_000, packed.getEncoding().getBaud());
+    }
+
     @Test
     public void testGetNumLEDS() {
         assertEquals(pixels, strip.getNumPixels());
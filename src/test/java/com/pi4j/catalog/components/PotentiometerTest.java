@@ -1,8 +1,12 @@
 package com.pi4j.catalog.components;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
@@ -41,11 +45,54 @@ public class PotentiometerTest extends ComponentTest {
         Assertions.assertEquals(voltageFromAdConverter, potentiometer.readCurrentVoltage());
     }
 
+    @Test
+    public void testCalibration() {
+        //given
+        when(mockAds1115.readValue(Ads1115.Channel.A1)).thenReturn(1.0, 0.2, 3.1, 1.6);
+        Potentiometer centered = new Potentiometer(mockAds1115, Ads1115.Channel.A1, Potentiometer.Range.MINUS_ONE_TO_ONE);
+
+        //when
+        Potentiometer.Calibration calibration = centered.calibrate(Duration.ofMillis(50), Duration.ofMillis(20));
+
+        //then
+        Assertions.assertEquals(0.2, calibration.getMin());
+        Assertions.assertEquals(3.1, calibration.getMax());
+        Assertions.assertEquals(1.6, calibration.getCenter(), 1e-9);
+        Assertions.assertEquals(0.0, centered.readNormalizedValue(), 1e-9);
+        Assertions.assertEquals(-0.5, calibration.normalize(0.9, Potentiometer.Range.MINUS_ONE_TO_ONE), 1e-9);
+        Assertions.assertEquals(1.0, calibration.normalize(3.3, Potentiometer.Range.MINUS_ONE_TO_ONE), 1e-9);
+    }
 
+    @Test
+    public void testCalibrationWithoutMovingFails() {
+        Assertions.assertThrows(IllegalStateException.class,
+                                () -> potentiometer.calibrate(Duration.ofMillis(20), Duration.ofMillis(20)));
+    }
 
+    @Test
+    public void testCalibrationAtEndStopFails() {
+        //given the potentiometer stays at an end stop after the sweep
+        when(mockAds1115.readValue(Ads1115.Channel.A1)).thenReturn(1.0, 0.2, 3.1);
+        Potentiometer centered = new Potentiometer(mockAds1115, Ads1115.Channel.A1, Potentiometer.Range.MINUS_ONE_TO_ONE);
+
+        //then
+        Assertions.assertThrows(IllegalStateException.class,
+                                () -> centered.calibrate(Duration.ofMillis(20), Duration.ofMillis(20)));
+        Assertions.assertNull(centered.getCalibration());
+    }
 
-
-
-
-
+    @Test
+    public void testCalibrationIsLoadedAtStartup(@TempDir Path directory) {
+        //given
+        Path file = directory.resolve("poti.properties");
+        potentiometer.setCalibration(new Potentiometer.Calibration(0.3, 1.8, 3.3));
+        Assertions.assertTrue(potentiometer.saveCalibration(file));
+
+        //when
+        Potentiometer restarted = new Potentiometer(mockAds1115, Ads1115.Channel.A0, Potentiometer.Range.ZERO_TO_ONE, file);
+
+        //then
+        Assertions.assertEquals(1.8, restarted.getCalibration().getCenter());
+        Assertions.assertEquals((voltageFromAdConverter - 0.3) / 3.0, restarted.readNormalizedValue(), 1e-9);
+    }
 }
@@ -0,0 +1,66 @@
+package com.pi4j.catalog.components.base;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class I2CBusTest {
+
+    @Test
+    public void testHigherPriorityGetsBusFirst() throws InterruptedException {
+        //given
+        I2CBus bus = I2CBus.get(42);
+        List<I2CBus.Priority> order = new CopyOnWriteArrayList<>();
+        bus.acquire(I2CBus.Priority.NORMAL);
+
+        Thread display = startWaiting(bus, I2CBus.Priority.LOW, order);
+        sleep(50);
+        Thread adc = startWaiting(bus, I2CBus.Priority.HIGH, order);
+        sleep(50);
+
+        //when
+        bus.release();
+        display.join(1000);
+        adc.join(1000);
+
+        //then
+        assertEquals(List.of(I2CBus.Priority.HIGH, I2CBus.Priority.LOW), order);
+        assertTrue(bus.getMaxWait(I2CBus.Priority.LOW).compareTo(bus.getMaxWait(I2CBus.Priority.HIGH)) > 0);
+        assertEquals(3, bus.getAcquisitions());
+    }
+
+    @Test
+    public void testNestedAcquireAndUtilization() throws InterruptedException {
+        //given
+        I2CBus bus = I2CBus.get(43);
+        bus.resetStatistics();
+
+        //when
+        bus.acquire(I2CBus.Priority.NORMAL);
+        bus.acquire(I2CBus.Priority.NORMAL);
+        sleep(50);
+        bus.release();
+        bus.release();
+        sleep(50);
+
+        //then
+        assertEquals(1, bus.getAcquisitions());
+        double utilization = bus.getUtilization();
+        assertTrue(utilization > 0.3 && utilization < 0.7, "utilization: " + utilization);
+        assertThrows(IllegalStateException.class, bus::release);
+    }
+
+    private static Thread startWaiting(I2CBus bus, I2CBus.Priority priority, List<I2CBus.Priority> order) {
+        Thread thread = new Thread(() -> {
+            bus.acquire(priority);
+            order.add(priority);
+            bus.release();
+        });
+        thread.start();
+        return thread;
+    }
+}
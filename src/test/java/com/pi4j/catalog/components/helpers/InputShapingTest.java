@@ -0,0 +1,104 @@
+package com.pi4j.catalog.components.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputShapingTest {
+
+    private final double[] result = new double[2];
+
+    @Test
+    public void testNoShaping() {
+        //given
+        InputShaping shaping = InputShaping.none();
+
+        //when
+        shaping.apply(0.3, -0.7, result);
+
+        //then
+        assertEquals(0.3, result[0], 1e-9);
+        assertEquals(-0.7, result[1], 1e-9);
+    }
+
+    @Test
+    public void testSquareDeadZone() {
+        //given
+        InputShaping shaping = InputShaping.builder().deadZone(InputShaping.DeadZone.SQUARE, 0.2).build();
+
+        //when
+        shaping.apply(0.15, -0.6, result);
+
+        //then
+        assertEquals(0.0, result[0]);
+        assertEquals(-0.5, result[1], 1e-9);
+    }
+
+    @Test
+    public void testCircularDeadZoneKeepsDirection() {
+        //given
+        InputShaping shaping = InputShaping.builder().deadZone(InputShaping.DeadZone.CIRCULAR, 0.2).build();
+
+        //when
+        shaping.apply(0.1, 0.1, result);
+
+        //then
+        assertEquals(0.0, result[0]);
+        assertEquals(0.0, result[1]);
+
+        //when
+        shaping.apply(0.3, 0.4, result);
+
+        //then radius 0.5 is scaled to (0.5 - 0.2) / 0.8, direction is unchanged
+        double expectedRadius = 0.3 / 0.8;
+        assertEquals(0.6 * expectedRadius, result[0], 1e-4);
+        assertEquals(0.8 * expectedRadius, result[1], 1e-4);
+    }
+
+    @Test
+    public void testExponentialCurveMatchesPow() {
+        //given
+        InputShaping shaping = InputShaping.builder()
+                                           .deadZone(InputShaping.DeadZone.CIRCULAR, 0.1)
+                                           .exponential(2.5)
+                                           .radialClamp(true)
+                                           .build();
+
+        //then
+        for (double x = -1.0; x <= 1.0; x += 0.05) {
+            for (double y = -1.0; y <= 1.0; y += 0.05) {
+                shaping.apply(x, y, result);
+                double radius = Math.sqrt(x * x + y * y);
+                double expected = radius <= 0.1 ? 0.0 : Math.pow(Math.min((radius - 0.1) / 0.9, 1.0), 2.5);
+                double actual = Math.sqrt(result[0] * result[0] + result[1] * result[1]);
+                assertEquals(expected, actual, 2e-3, "at " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomCurve() {
+        //given
+        InputShaping shaping = InputShaping.builder().curve(0.0, 0.2, 1.0).build();
+
+        //when
+        shaping.apply(0.25, -0.75, result);
+
+        //then
+        assertEquals(0.1, result[0], 1e-9);
+        assertEquals(-0.6, result[1], 1e-9);
+    }
+
+    @Test
+    public void testRadialClamp() {
+        //given
+        InputShaping shaping = InputShaping.builder().radialClamp(true).build();
+
+        //when
+        shaping.apply(1.0, 1.0, result);
+
+        //then
+        assertEquals(Math.sqrt(0.5), result[0], 1e-6);
+        assertEquals(Math.sqrt(0.5), result[1], 1e-6);
+    }
+}
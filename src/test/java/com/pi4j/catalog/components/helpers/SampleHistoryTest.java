@@ -0,0 +1,115 @@
+package com.pi4j.catalog.components.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SampleHistoryTest {
+
+    @Test
+    public void testEmptyHistory() {
+        //when
+        SampleHistory history = new SampleHistory(4);
+
+        //then
+        SampleHistory.Statistics statistics = history.getStatistics();
+        assertEquals(0, statistics.getCount());
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertTrue(Double.isNaN(statistics.getMin()));
+        assertTrue(Double.isNaN(statistics.getMax()));
+    }
+
+    @Test
+    public void testStatisticsOfPartiallyFilledWindow() {
+        //given
+        SampleHistory history = new SampleHistory(10);
+
+        //when
+        history.add(1.0);
+        history.add(2.0);
+        history.add(3.0);
+
+        //then
+        SampleHistory.Statistics statistics = history.getStatistics();
+        assertEquals(3, statistics.getCount());
+        assertEquals(2.0, statistics.getMean(), 1e-9);
+        assertEquals(1.0, statistics.getVariance(), 1e-9);
+        assertEquals(Math.sqrt(14.0 / 3.0), statistics.getRms(), 1e-9);
+        assertEquals(1.0, statistics.getMin());
+        assertEquals(3.0, statistics.getMax());
+    }
+
+    @Test
+    public void testSlidingWindowMatchesRecomputation() {
+        //given
+        int windowSize = 16;
+        SampleHistory history = new SampleHistory(windowSize);
+        double[] all = new double[1000];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = Math.sin(i * 0.37) * 3.0 + (i % 7) * 0.1;
+        }
+
+        for (int i = 0; i < all.length; i++) {
+            //when
+            history.add(all[i]);
+
+            //then
+            int from = Math.max(0, i - windowSize + 1);
+            int n = i - from + 1;
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int j = from; j <= i; j++) {
+                sum += all[j];
+                min = Math.min(min, all[j]);
+                max = Math.max(max, all[j]);
+            }
+            double mean = sum / n;
+            double sq = 0;
+            for (int j = from; j <= i; j++) {
+                sq += (all[j] - mean) * (all[j] - mean);
+            }
+
+            SampleHistory.Statistics statistics = history.getStatistics();
+            assertEquals(n, statistics.getCount());
+            assertEquals(mean, statistics.getMean(), 1e-9);
+            assertEquals(min, statistics.getMin());
+            assertEquals(max, statistics.getMax());
+            if (n > 1) {
+                assertEquals(sq / (n - 1), statistics.getVariance(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyTo() {
+        //given
+        SampleHistory history = new SampleHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.add(i);
+        }
+
+        //when
+        double[] target = new double[5];
+        int copied = history.copyTo(target);
+
+        //then
+        assertEquals(3, copied);
+        assertArrayEquals(new double[]{3.0, 4.0, 5.0, 0.0, 0.0}, target);
+    }
+
+    @Test
+    public void testClear() {
+        //given
+        SampleHistory history = new SampleHistory(3);
+        history.add(7.0);
+
+        //when
+        history.clear();
+        history.add(2.0);
+
+        //then
+        assertEquals(1, history.getStatistics().getCount());
+        assertEquals(2.0, history.getStatistics().getMax());
+    }
+}
@@ -0,0 +1,127 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignalFilterTest {
+
+    @Test
+    public void testExponentialMovingAverage() {
+        //given
+        SignalFilter ema = SignalFilter.exponentialMovingAverage(0.5);
+
+        //then
+        assertEquals(2.0, ema.apply(2.0));
+        assertEquals(3.0, ema.apply(4.0));
+        assertEquals(3.5, ema.apply(4.0));
+    }
+
+    @Test
+    public void testMedianRemovesSpikes() {
+        //given
+        SignalFilter median = SignalFilter.median(3);
+
+        //when
+        median.apply(1.0);
+        median.apply(1.0);
+
+        //then
+        assertEquals(1.0, median.apply(9.0));
+        assertEquals(1.0, median.apply(1.0));
+        assertEquals(2.0, median.apply(2.0));
+        assertEquals(2.0, median.apply(2.0));
+    }
+
+    @Test
+    public void testDecimation() {
+        //given
+        SignalFilter decimation = SignalFilter.decimate(4);
+
+        //then
+        assertTrue(Double.isNaN(decimation.apply(1.0)));
+        assertTrue(Double.isNaN(decimation.apply(2.0)));
+        assertTrue(Double.isNaN(decimation.apply(3.0)));
+        assertEquals(2.5, decimation.apply(4.0));
+        assertTrue(Double.isNaN(decimation.apply(4.0)));
+    }
+
+    @Test
+    public void testHysteresis() {
+        //given
+        SignalFilter hysteresis = SignalFilter.hysteresis(0.2);
+
+        //then
+        assertEquals(1.0, hysteresis.apply(1.0));
+        assertTrue(Double.isNaN(hysteresis.apply(1.09)));
+        assertTrue(Double.isNaN(hysteresis.apply(0.91)));
+        assertEquals(1.1, hysteresis.apply(1.2), 1e-9);
+        //reversing needs the whole band
+        assertTrue(Double.isNaN(hysteresis.apply(1.05)));
+        assertEquals(0.9, hysteresis.apply(0.8), 1e-9);
+    }
+
+    @Test
+    public void testChainStopsAtMissingOutput() {
+        //given
+        SignalFilter chain = SignalFilter.chain(SignalFilter.decimate(2), SignalFilter.exponentialMovingAverage(1.0));
+
+        //then
+        assertTrue(Double.isNaN(chain.apply(1.0)));
+        assertEquals(2.0, chain.apply(3.0));
+    }
+
+    /**
+     * Feeds a noisy potentiometer signal (slow sweep 0 V - 3.3 V and back, gaussian noise and single spikes) through the
+     * threshold check of continuous reading, once without and once with a filter chain.
+     */
+    @Test
+    public void testFilterChainReducesValueChangeEvents() {
+        //given
+        double[] signal = noisyPotentiometer(4000);
+        double threshold = 0.05;
+
+        //when
+        int unfiltered = countValueChanges(signal, threshold, null);
+        int filtered   = countValueChanges(signal, threshold,
+                                           SignalFilter.chain(SignalFilter.median(5),
+                                                              SignalFilter.exponentialMovingAverage(0.2),
+                                                              SignalFilter.hysteresis(0.05)));
+
+        //then
+        assertTrue(filtered * 3 < unfiltered, "filtered: " + filtered + ", unfiltered: " + unfiltered);
+        // a full sweep still has to be reported in threshold-sized steps
+        assertTrue(filtered >= 2 * 3.3 / threshold * 0.8, "filtered: " + filtered);
+    }
+
+    private static int countValueChanges(double[] signal, double threshold, SignalFilter filter) {
+        int events = 0;
+        double oldValue = -10.0;
+        for (double sample : signal) {
+            double value = filter == null ? sample : filter.apply(sample);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            if (Math.abs(oldValue - value) >= threshold) {
+                oldValue = value;
+                events++;
+            }
+        }
+        return events;
+    }
+
+    private static double[] noisyPotentiometer(int n) {
+        Random random = new Random(42);
+        double[] signal = new double[n];
+        for (int i = 0; i < n; i++) {
+            double position = i < n / 2 ? (double) i / (n / 2) : (double) (n - i) / (n / 2);
+            signal[i] = 3.3 * position + random.nextGaussian() * 0.04;
+            if (random.nextInt(100) == 0) {
+                signal[i] += 0.5;
+            }
+        }
+        return signal;
+    }
+}